@@ -0,0 +1,72 @@
+package edu.kit.kastel.benchmark;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.config.Lexer;
+import edu.kit.kastel.config.Parser;
+import edu.kit.kastel.config.PositionException;
+
+/**
+ * Generates synthetic configuration files of arbitrary size for the benchmarks.
+ *
+ * @author uupyx
+ */
+final class BenchmarkConfigs {
+
+    private static final String[] ELEMENTS = {"WATER", "FIRE", "EARTH", "NORMAL"};
+    private static final String[] CONDITIONS = {"WET", "BURN", "QUICKSAND", "SLEEP"};
+    private static final String[] STATS = {"ATK", "DEF", "SPD", "PRC", "AGL"};
+
+    private BenchmarkConfigs() {
+    }
+
+    /**
+     * Generates a configuration covering every effect kind.
+     *
+     * @param actions The number of actions.
+     * @param monsters The number of monsters.
+     * @return The configuration file content.
+     */
+    static String generate(int actions, int monsters) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < actions; i++) {
+            builder.append("action Action").append(i).append(' ').append(ELEMENTS[i % ELEMENTS.length]).append('\n');
+            switch (i % 5) {
+                case 0 -> builder.append("    damage target base ").append(40 + i % 60).append(" 90\n");
+                case 1 -> builder.append("    repeat random 1 4\n        damage target base 20 85\n        inflictStatChange user SPD +1 50\n")
+                        .append("    end repeat\n");
+                case 2 -> builder.append("    inflictStatusCondition target ").append(CONDITIONS[i % CONDITIONS.length]).append(" 80\n")
+                        .append("    damage target rel 5 100\n");
+                case 3 -> builder.append("    protectStat health random 1 2 90\n    heal user abs 10 100\n");
+                default -> builder.append("    inflictStatChange target ").append(STATS[i % STATS.length]).append(" -1 85\n")
+                        .append("    continue 50\n    damage target base 30 95\n");
+            }
+            builder.append("end action\n\n");
+        }
+
+        for (int i = 0; i < monsters; i++) {
+            builder.append("monster Monster").append(i).append(' ').append(ELEMENTS[i % ELEMENTS.length]).append(' ')
+                    .append(100 + i % 150).append(' ').append(50 + i % 40).append(' ').append(50 + i % 45).append(' ')
+                    .append(20 + i % 50);
+            for (int a = 0; a < 4; a++) {
+                builder.append(" Action").append((i * 4 + a) % actions);
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Generates and parses a configuration.
+     *
+     * @param actions The number of actions.
+     * @param monsters The number of monsters.
+     * @return The parsed configuration.
+     */
+    static Config parse(int actions, int monsters) {
+        try {
+            return new Parser(new Lexer(generate(actions, monsters))).parse();
+        } catch (PositionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
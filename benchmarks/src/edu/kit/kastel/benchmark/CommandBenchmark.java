@@ -0,0 +1,73 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.game.console.CommandManager;
+
+/**
+ * Measures dispatching typical input lines with {@link CommandManager#execute(String)}, with the commands of the game and many
+ * additional ones registered.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandBenchmark {
+
+    private static final String[] LINES = {"action TidalSlam", "show stats", "ACTION PondLeap FireSnail", "  show   actions ", "pass"};
+
+    /** Number of additional commands registered before the game's commands. */
+    @Param({"0", "1000"})
+    public int additional;
+
+    private CommandManager commandManager;
+    private int executed;
+    private int line;
+
+    /**
+     * Registers the commands once per trial.
+     */
+    @Setup
+    public void setup() {
+        commandManager = new CommandManager();
+        for (int i = 0; i < additional; i++) {
+            commandManager.register(CommandManager.fixedCount("command" + i, 1), args -> executed++);
+        }
+        commandManager.register(CommandManager.fixed("quit"), args -> executed++);
+        commandManager.register(CommandManager.fixedCount("load", 1), args -> executed++);
+        commandManager.register(CommandManager.fixed("show"), args -> executed++);
+        commandManager.register(CommandManager.fixed("show", "monsters"), args -> executed++);
+        commandManager.register(CommandManager.fixed("show", "actions"), args -> executed++);
+        commandManager.register(CommandManager.fixed("show", "stats"), args -> executed++);
+        commandManager.register(CommandManager.fixed("pass"), args -> executed++);
+        commandManager.register(CommandManager.variableCount("competition", 2), args -> executed++);
+        commandManager.register(CommandManager.hybrid("action", 1, 1), args -> executed++);
+    }
+
+    /**
+     * Tokenizes and dispatches the next input line.
+     *
+     * @return The number of executed commands.
+     */
+    @Benchmark
+    public int execute() {
+        commandManager.execute(LINES[line++ % LINES.length]);
+        return executed;
+    }
+}
@@ -0,0 +1,94 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.engine.ActionPolicy;
+import edu.kit.kastel.game.model.Monster;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+
+/**
+ * Measures complete {@link Competition#step()} rounds, from action selection to the end of Phase II, and exploring one round from a
+ * snapshot. A finished competition is reset to its initial state. The console is never initialized, so all battle output is discarded.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompetitionBenchmark {
+
+    /** The number of monsters in the competition. */
+    @Param({"2", "8"})
+    public int monsters;
+
+    private final ActionPolicy policy = ActionPolicy.random();
+    private RandomDecisionMaker decisionMaker;
+    private Competition competition;
+
+    /**
+     * Creates the lineup once per trial.
+     */
+    @Setup
+    public void setup() {
+        Config config = BenchmarkConfigs.parse(20, monsters);
+        List<Monster> entries = new ArrayList<>(config.monsters().values());
+        decisionMaker = new RandomDecisionMaker(1);
+        competition = new Competition(entries.toArray(new Monster[0]), decisionMaker);
+    }
+
+    /**
+     * Selects actions for all monsters and executes one round.
+     *
+     * @return The competition.
+     */
+    @Benchmark
+    public Competition round() {
+        int round = competition.getRound();
+        while (competition.getRound() == round) {
+            competition.step();
+            if (competition.isFinished()) {
+                competition.reset();
+                break;
+            }
+            MonsterStatus monster = competition.getSelectingMonster();
+            if (monster != null) {
+                ActionPolicy.Choice choice = policy.choose(competition, monster, decisionMaker);
+                competition.select(choice.action(), choice.target());
+            }
+        }
+        return competition;
+    }
+
+    /**
+     * Takes a snapshot, plays one round and restores the snapshot again, like a single lookahead step.
+     *
+     * @return The competition.
+     */
+    @Benchmark
+    public Competition lookahead() {
+        Competition.Snapshot snapshot = competition.snapshot();
+        round();
+        competition.restore(snapshot);
+        return competition;
+    }
+}
@@ -0,0 +1,142 @@
+package edu.kit.kastel.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.config.ConfigCache;
+import edu.kit.kastel.config.Lexer;
+import edu.kit.kastel.config.ParallelParser;
+import edu.kit.kastel.config.Parser;
+import edu.kit.kastel.config.PositionException;
+import edu.kit.kastel.config.SymbolTable;
+import edu.kit.kastel.config.Token;
+
+/**
+ * Measures {@link Lexer#tokenize()} and {@link Parser#parse()} on small and very large generated configurations, streaming tokens from
+ * the encoded file content into the parser, parsing its blocks on the common fork-join pool, and loading the same configurations from
+ * their {@link ConfigCache}.
+ *
+ * @author uupyx
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigBenchmark {
+
+    /** Number of actions of the generated configuration; it has half as many monsters. */
+    @Param({"10", "100000"})
+    public int actions;
+
+    private String content;
+    private List<Token> tokens;
+    private SymbolTable symbols;
+    private Path source;
+    private byte[] bytes;
+
+    /**
+     * Generates the configuration, its tokens and its cache once per trial.
+     *
+     * @throws PositionException Never, the generated configuration is valid.
+     * @throws IOException If the temporary files cannot be written.
+     */
+    @Setup
+    public void setup() throws PositionException, IOException {
+        content = BenchmarkConfigs.generate(actions, actions / 2);
+        Lexer lexer = new Lexer(content);
+        tokens = lexer.tokenize();
+        symbols = lexer.symbols();
+
+        bytes = content.getBytes(StandardCharsets.UTF_8);
+        source = Files.createTempFile("config", ".txt");
+        Files.write(source, bytes);
+        new ConfigCache(source, bytes).write(new Parser(tokens, symbols).parse());
+    }
+
+    /**
+     * Deletes the temporary files.
+     *
+     * @throws IOException If they cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(new ConfigCache(source, bytes).getPath());
+        Files.deleteIfExists(source);
+    }
+
+    /**
+     * Tokenizes the configuration.
+     *
+     * @return The tokens.
+     * @throws PositionException Never, the generated configuration is valid.
+     */
+    @Benchmark
+    public List<Token> tokenize() throws PositionException {
+        return new Lexer(content).tokenize();
+    }
+
+    /**
+     * Parses the pre-lexed tokens.
+     *
+     * @return The configuration.
+     * @throws PositionException Never, the generated configuration is valid.
+     */
+    @Benchmark
+    public Config parse() throws PositionException {
+        return new Parser(tokens, symbols).parse();
+    }
+
+    /**
+     * Decodes, tokenizes and parses the encoded configuration in one pass, as it is done for memory-mapped files.
+     *
+     * @return The configuration.
+     * @throws PositionException Never, the generated configuration is valid.
+     */
+    @Benchmark
+    public Config stream() throws PositionException {
+        return new Parser(new Lexer(ByteBuffer.wrap(bytes))).parse();
+    }
+
+    /**
+     * Parses the blocks of the encoded configuration in parallel. Small configurations are parsed sequentially.
+     *
+     * @return The configuration.
+     * @throws PositionException Never, the generated configuration is valid.
+     */
+    @Benchmark
+    public Config parallel() throws PositionException {
+        return new ParallelParser(ForkJoinPool.commonPool()).parse(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Hashes the source and reads the configuration from its cache.
+     *
+     * @return The configuration.
+     */
+    @Benchmark
+    public Config cached() {
+        return new ConfigCache(source, bytes).read();
+    }
+}
@@ -0,0 +1,89 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.Element;
+import edu.kit.kastel.game.model.Monster;
+import edu.kit.kastel.game.model.TargetMonster;
+import edu.kit.kastel.game.model.effect.DamageEffect;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+import edu.kit.kastel.game.model.strength.AbsStrength;
+import edu.kit.kastel.game.model.strength.BaseStrength;
+import edu.kit.kastel.game.model.strength.RelStrength;
+import edu.kit.kastel.game.model.strength.Strength;
+
+/**
+ * Measures {@link edu.kit.kastel.game.model.status.DamageCalculator#calculateDamage} and
+ * {@link edu.kit.kastel.game.model.status.DamageCalculator#damageDistribution} for each kind of {@link Strength}.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DamageBenchmark {
+
+    /** The kind of strength. */
+    @Param({"base", "rel", "abs"})
+    public String kind;
+
+    private Strength strength;
+    private Action action;
+    private MonsterStatus user;
+    private MonsterStatus target;
+
+    /**
+     * Creates both combatants once per trial.
+     */
+    @Setup
+    public void setup() {
+        strength = switch (kind) {
+            case "base" -> new BaseStrength(70);
+            case "rel" -> new RelStrength(10);
+            default -> new AbsStrength(15);
+        };
+        action = new Action("Bench", Element.WATER, List.of(new DamageEffect(TargetMonster.TARGET, strength, 100, false)));
+
+        RandomDecisionMaker decisionMaker = new RandomDecisionMaker(1);
+        user = new MonsterStatus(new Monster(1, "User", Element.WATER, 120, 80, 60, 40, List.of(action)), decisionMaker);
+        target = new MonsterStatus(new Monster(2, "Target", Element.FIRE, 200, 60, 70, 30, List.of(action)), decisionMaker);
+    }
+
+    /**
+     * Calculates the damage of one hit.
+     *
+     * @return The damage.
+     */
+    @Benchmark
+    public int calculateDamage() {
+        return target.getDamageCalculator().calculateDamage(action, strength, user, false, true);
+    }
+
+    /**
+     * Calculates the exact damage distribution of the action, which replaces sampling many hits.
+     *
+     * @return The mean damage.
+     */
+    @Benchmark
+    public double damageDistribution() {
+        return target.getDamageCalculator().damageDistribution(action, user).mean();
+    }
+}
@@ -0,0 +1,82 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker;
+
+/**
+ * Measures random decisions of {@link RandomDecisionMaker} and of {@link SplittableDecisionMaker} with every algorithm. Run it with
+ * several threads ({@code -t}) to compare how the generators scale.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecisionBenchmark {
+
+    /** The generator, either {@code random} or the name of a {@link SplittableDecisionMaker.Algorithm}. */
+    @Param({"random", "L64X128", "L64X256", "L128X256", "XOSHIRO256"})
+    public String generator;
+
+    private DecisionMaker decisionMaker;
+    private SplittableDecisionMaker splittable;
+    private long battle;
+
+    /**
+     * Creates the decision maker once per trial.
+     */
+    @Setup
+    public void setup() {
+        if (generator.equals("random")) {
+            decisionMaker = new RandomDecisionMaker(1);
+        } else {
+            splittable = new SplittableDecisionMaker(SplittableDecisionMaker.Algorithm.valueOf(generator), 1);
+            decisionMaker = splittable;
+        }
+    }
+
+    /**
+     * Makes one decision of each kind, like a typical damage calculation.
+     *
+     * @return A combination of the decisions.
+     */
+    @Benchmark
+    public double decide() {
+        boolean yes = decisionMaker.decideYesNo(50, "effect hit");
+        double value = decisionMaker.decideDouble(0.85, 1.0, "damage variance");
+        return yes ? value : decisionMaker.decideInt(1, 10, "repeat count");
+    }
+
+    /**
+     * Switches to the stream of the next battle.
+     *
+     * @return The battle index.
+     */
+    @Benchmark
+    public long startBattle() {
+        if (splittable == null) {
+            ((RandomDecisionMaker) decisionMaker).setSeed(++battle);
+        } else {
+            splittable.startBattle(++battle);
+        }
+        return battle;
+    }
+}
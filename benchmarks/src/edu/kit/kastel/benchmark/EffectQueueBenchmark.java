@@ -0,0 +1,76 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.Element;
+import edu.kit.kastel.game.model.Stat;
+import edu.kit.kastel.game.model.TargetMonster;
+import edu.kit.kastel.game.model.count.Count;
+import edu.kit.kastel.game.model.count.FixedCount;
+import edu.kit.kastel.game.model.count.RandomCount;
+import edu.kit.kastel.game.model.effect.DamageEffect;
+import edu.kit.kastel.game.model.effect.Effect;
+import edu.kit.kastel.game.model.effect.InflictStatChangeEffect;
+import edu.kit.kastel.game.model.effect.RepeatEffect;
+import edu.kit.kastel.game.model.status.EffectManager;
+import edu.kit.kastel.game.model.strength.BaseStrength;
+
+/**
+ * Measures {@link EffectManager#buildEffectQueue(Action)} for actions with a {@link RepeatEffect}.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EffectQueueBenchmark {
+
+    /** The repeat count, either a fixed number or {@code random} for a random count between 1 and 10. */
+    @Param({"3", "10", "random"})
+    public String repeat;
+
+    private Action action;
+    private EffectManager effectManager;
+
+    /**
+     * Creates the action once per trial.
+     */
+    @Setup
+    public void setup() {
+        Count count = repeat.equals("random") ? new RandomCount(1, 10) : new FixedCount(Integer.parseInt(repeat));
+        List<Effect> repeated = List.of(new DamageEffect(TargetMonster.TARGET, new BaseStrength(20), 90, false),
+                new InflictStatChangeEffect(TargetMonster.USER, Stat.SPD, 1, 50));
+        action = new Action("Bench", Element.NORMAL,
+                List.of(new RepeatEffect(count, repeated), new DamageEffect(TargetMonster.TARGET, new BaseStrength(30), 95, false)));
+        effectManager = new EffectManager(new RandomDecisionMaker(1));
+    }
+
+    /**
+     * Builds the effect queue of the action.
+     *
+     * @return The queue.
+     */
+    @Benchmark
+    public Queue<Effect> buildEffectQueue() {
+        return effectManager.buildEffectQueue(action);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.ai.ExpectiminimaxPolicy;
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.engine.ActionPolicy;
+import edu.kit.kastel.game.model.Monster;
+
+/**
+ * Measures the first decision of an {@link ExpectiminimaxPolicy} in a 1v1 competition. Every invocation starts with an empty transposition
+ * table, so only transpositions within the search itself are found.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpectiminimaxBenchmark {
+
+    /** The number of rounds searched ahead. */
+    @Param({"1", "2"})
+    public int depth;
+
+    private RandomDecisionMaker decisionMaker;
+    private Competition competition;
+    private ExpectiminimaxPolicy policy;
+
+    /**
+     * Creates the competition once per trial.
+     */
+    @Setup
+    public void setup() {
+        Config config = BenchmarkConfigs.parse(4, 2);
+        List<Monster> entries = new ArrayList<>(config.monsters().values());
+        decisionMaker = new RandomDecisionMaker(1);
+        competition = new Competition(entries.toArray(new Monster[0]), decisionMaker);
+        competition.step();
+    }
+
+    /**
+     * Creates a policy with an empty table before every decision.
+     */
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        policy = new ExpectiminimaxPolicy(depth, 16);
+    }
+
+    /**
+     * Chooses the action of the first monster.
+     *
+     * @return The choice.
+     */
+    @Benchmark
+    public ActionPolicy.Choice decide() {
+        return policy.choose(competition, competition.getSelectingMonster(), decisionMaker);
+    }
+}
@@ -0,0 +1,55 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.game.console.Message;
+
+/**
+ * Measures rendering a typical battle line with {@link String#format(String, Object...)} and with the precompiled {@link Message}
+ * template.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark {
+
+    private final StringBuilder line = new StringBuilder();
+    private int damage = 17;
+
+    /**
+     * Formats the line from scratch, like before the templates existed.
+     *
+     * @return The line.
+     */
+    @Benchmark
+    public String stringFormat() {
+        return String.format("%s takes %s damage!", "FireSnail", ++damage);
+    }
+
+    /**
+     * Renders the line into a reused builder.
+     *
+     * @return The length of the line.
+     */
+    @Benchmark
+    public int template() {
+        line.setLength(0);
+        Message.MONSTER_TAKES_DAMAGE.appendTo(line, "FireSnail", ++damage);
+        return line.length();
+    }
+}
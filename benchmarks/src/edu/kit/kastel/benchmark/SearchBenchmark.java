@@ -0,0 +1,84 @@
+package edu.kit.kastel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.ai.MctsPolicy;
+import edu.kit.kastel.game.ai.SearchBudget;
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.engine.ActionPolicy;
+import edu.kit.kastel.game.model.Monster;
+
+/**
+ * Measures a single decision of {@link MctsPolicy} with a fixed number of iterations at the start of a competition, to compare how the
+ * search scales with the number of workers.
+ *
+ * @author uupyx
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    /** The number of monsters in the competition. */
+    @Param({"2", "4"})
+    public int monsters;
+
+    /** The number of search workers. */
+    @Param({"1", "4"})
+    public int workers;
+
+    private MctsPolicy policy;
+    private RandomDecisionMaker decisionMaker;
+    private Competition competition;
+
+    /**
+     * Creates the lineup and the policy once per trial.
+     */
+    @Setup
+    public void setup() {
+        Config config = BenchmarkConfigs.parse(20, monsters);
+        List<Monster> entries = new ArrayList<>(config.monsters().values());
+        decisionMaker = new RandomDecisionMaker(1);
+        competition = new Competition(entries.toArray(new Monster[0]), decisionMaker);
+        competition.step();
+        policy = new MctsPolicy(SearchBudget.iterations(2000), workers, 1);
+    }
+
+    /**
+     * Stops the worker threads of the policy.
+     */
+    @TearDown
+    public void tearDown() {
+        policy.close();
+    }
+
+    /**
+     * Chooses the action of the first monster.
+     *
+     * @return The choice.
+     */
+    @Benchmark
+    public ActionPolicy.Choice decide() {
+        return policy.choose(competition, competition.getSelectingMonster(), decisionMaker);
+    }
+}
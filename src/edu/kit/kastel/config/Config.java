@@ -6,12 +6,84 @@ import edu.kit.kastel.game.model.Action;
 import edu.kit.kastel.game.model.Monster;
 
 /**
- * Holds the game configuration parsed from a file. Stores actions and monsters for battle initialization.
- *
- * @param actions Maps action names to Action objects.
- * @param monsters Maps monster names to Monster objects.
+ * Holds the game configuration parsed from a file. Stores actions and monsters for battle initialization, by name in file order and by
+ * the symbols of their names in arrays.
  *
  * @author uupyx
  */
-public record Config(Map<String, Action> actions, Map<String, Monster> monsters) {
+public final class Config {
+
+    private final Map<String, Action> actions;
+    private final Map<String, Monster> monsters;
+    private final SymbolTable symbols;
+    private final Action[] actionsBySymbol;
+    private final Monster[] monstersBySymbol;
+
+    /**
+     * Creates a configuration.
+     *
+     * @param actions Maps action names to Action objects.
+     * @param monsters Maps monster names to Monster objects.
+     * @param symbols The table, that the names of all actions and monsters are interned into.
+     */
+    public Config(Map<String, Action> actions, Map<String, Monster> monsters, SymbolTable symbols) {
+        this.actions = actions;
+        this.monsters = monsters;
+        this.symbols = symbols;
+        this.actionsBySymbol = new Action[symbols.size()];
+        this.monstersBySymbol = new Monster[symbols.size()];
+        for (Action action : actions.values()) {
+            actionsBySymbol[action.symbol()] = action;
+        }
+        for (Monster monster : monsters.values()) {
+            monstersBySymbol[monster.symbol()] = monster;
+        }
+    }
+
+    /**
+     * Gets the actions.
+     *
+     * @return Maps action names to Action objects, in file order.
+     */
+    public Map<String, Action> actions() {
+        return actions;
+    }
+
+    /**
+     * Gets the monsters.
+     *
+     * @return Maps monster names to Monster objects, in file order.
+     */
+    public Map<String, Monster> monsters() {
+        return monsters;
+    }
+
+    /**
+     * Gets the symbol table of the names.
+     *
+     * @return The symbol table.
+     */
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    /**
+     * Gets an action by the symbol of its name.
+     *
+     * @param symbol The symbol, e.g. from {@link SymbolTable#lookup(String)}.
+     * @return The action, or null if there is no action with that name.
+     */
+    public Action action(int symbol) {
+        return symbol >= 0 && symbol < actionsBySymbol.length ? actionsBySymbol[symbol] : null;
+    }
+
+    /**
+     * Gets a monster by the symbol of its name.
+     *
+     * @param symbol The symbol, e.g. from {@link SymbolTable#lookup(String)}.
+     * @return The monster, or null if there is no monster with that name.
+     */
+    public Monster monster(int symbol) {
+        return symbol >= 0 && symbol < monstersBySymbol.length ? monstersBySymbol[symbol] : null;
+    }
 }
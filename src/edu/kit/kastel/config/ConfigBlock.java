@@ -0,0 +1,113 @@
+package edu.kit.kastel.config;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A top-level block of an UTF-8 encoded configuration: an action from its head up to the next block, or a monster line with the lines up
+ * to the next block. Every block starts at the beginning of a line, whose first word is {@code action} or {@code monster}, so a block
+ * is lexed the same way on its own as within the whole configuration.
+ *
+ * @param type Either {@link TokenType#ACTION} or {@link TokenType#MONSTER}.
+ * @param start The offset of the first byte of the block, relative to the position of the content.
+ * @param end The offset after the last byte of the block, relative to the position of the content.
+ *
+ * @author uupyx
+ */
+record ConfigBlock(TokenType type, int start, int end) {
+
+    private static final byte[] ACTION = {'a', 'c', 't', 'i', 'o', 'n'};
+    private static final byte[] MONSTER = {'m', 'o', 'n', 's', 't', 'e', 'r'};
+
+    /**
+     * Splits a configuration at the line starts of its blocks, without decoding it.
+     *
+     * @param content The configuration, from its position to its limit. The position of the buffer is not changed.
+     * @return The blocks in file order, or null if there is anything but a block at the start of the configuration.
+     */
+    static List<ConfigBlock> split(ByteBuffer content) {
+        int offset = content.position();
+        int length = content.remaining();
+        List<ConfigBlock> blocks = new ArrayList<>();
+        TokenType type = null;
+        int start = 0;
+
+        int lineStart = 0;
+        while (lineStart < length) {
+            TokenType next = blockType(content, offset, lineStart, length);
+            if (next != null) {
+                if (type != null) {
+                    blocks.add(new ConfigBlock(type, start, lineStart));
+                }
+                type = next;
+                start = lineStart;
+            } else if (type == null) {
+                return null;
+            }
+            lineStart = nextLine(content, offset, lineStart, length);
+        }
+
+        if (type != null) {
+            blocks.add(new ConfigBlock(type, start, length));
+        }
+        return blocks;
+    }
+
+    /**
+     * Gets the bytes of this block.
+     *
+     * @param content The configuration, that this block was split from.
+     * @return A buffer from the first to the last byte of the block.
+     */
+    ByteBuffer slice(ByteBuffer content) {
+        return content.slice(content.position() + start, end - start);
+    }
+
+    private static TokenType blockType(ByteBuffer content, int offset, int lineStart, int length) {
+        int i = lineStart;
+        while (i < length && isBlank(content.get(offset + i))) {
+            i++;
+        }
+        if (startsWithWord(content, offset, i, length, ACTION)) {
+            return TokenType.ACTION;
+        } else if (startsWithWord(content, offset, i, length, MONSTER)) {
+            return TokenType.MONSTER;
+        }
+        return null;
+    }
+
+    private static boolean startsWithWord(ByteBuffer content, int offset, int from, int length, byte[] word) {
+        if (from + word.length > length) {
+            return false;
+        }
+        for (int i = 0; i < word.length; i++) {
+            if (content.get(offset + from + i) != word[i]) {
+                return false;
+            }
+        }
+        // Anything but ASCII whitespace after the word makes it another identifier, or at least not a certain block start
+        int after = from + word.length;
+        return after == length || isBlank(content.get(offset + after)) || isNewline(content.get(offset + after));
+    }
+
+    private static int nextLine(ByteBuffer content, int offset, int lineStart, int length) {
+        for (int i = lineStart; i < length; i++) {
+            byte b = content.get(offset + i);
+            if (b == '\n') {
+                return i + 1;
+            } else if (b == '\r') {
+                return i + 1 < length && content.get(offset + i + 1) == '\n' ? i + 2 : i + 1;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean isNewline(byte b) {
+        return b == '\n' || b == '\r';
+    }
+}
@@ -0,0 +1,450 @@
+package edu.kit.kastel.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.Element;
+import edu.kit.kastel.game.model.Monster;
+import edu.kit.kastel.game.model.ProtectTarget;
+import edu.kit.kastel.game.model.Stat;
+import edu.kit.kastel.game.model.StatusCondition;
+import edu.kit.kastel.game.model.TargetMonster;
+import edu.kit.kastel.game.model.count.Count;
+import edu.kit.kastel.game.model.count.FixedCount;
+import edu.kit.kastel.game.model.count.RandomCount;
+import edu.kit.kastel.game.model.effect.ContinueEffect;
+import edu.kit.kastel.game.model.effect.DamageEffect;
+import edu.kit.kastel.game.model.effect.Effect;
+import edu.kit.kastel.game.model.effect.HealEffect;
+import edu.kit.kastel.game.model.effect.InflictStatChangeEffect;
+import edu.kit.kastel.game.model.effect.InflictStatusConditionEffect;
+import edu.kit.kastel.game.model.effect.ProtectStatEffect;
+import edu.kit.kastel.game.model.effect.RepeatEffect;
+import edu.kit.kastel.game.model.strength.AbsStrength;
+import edu.kit.kastel.game.model.strength.BaseStrength;
+import edu.kit.kastel.game.model.strength.RelStrength;
+import edu.kit.kastel.game.model.strength.Strength;
+
+/**
+ * Binary cache of a parsed configuration, stored next to its source file. The cache starts with the SHA-256 hash of the source bytes, so
+ * it is only used while the source is unchanged, and is read through a memory mapping instead of lexing and parsing the source again.
+ * <p>
+ * The format consists of a table of all names, a table of all distinct effects, the actions as indices into both tables and the monsters
+ * with indices into the action table. Effects of repeat effects come before the repeat effect in the table, so every effect can be
+ * decoded in one pass. Writing is best effort: the cache is written to a temporary file and moved into place, and failures are ignored.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class ConfigCache {
+
+    /** System property, that disables the cache when set to {@code false}. */
+    public static final String PROPERTY = "game.config.cache";
+
+    /** Suffix appended to the name of the source file to get the name of its cache. */
+    public static final String SUFFIX = ".cache";
+
+    private static final int MAGIC = 0x4D424343;
+    private static final int VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_LENGTH = 32;
+
+    private static final int DAMAGE = 0;
+    private static final int HEAL = 1;
+    private static final int STAT_CHANGE = 2;
+    private static final int STATUS_CONDITION = 3;
+    private static final int PROTECT = 4;
+    private static final int CONTINUE = 5;
+    private static final int REPEAT = 6;
+
+    private static final int BASE_STRENGTH = 0;
+    private static final int RELATIVE_STRENGTH = 1;
+    private static final int ABSOLUTE_STRENGTH = 2;
+
+    private static final int FIXED_COUNT = 0;
+    private static final int RANDOM_COUNT = 1;
+
+    // The smallest encodings: a continue effect, an action without effects and a monster without actions
+    private static final int MIN_EFFECT_BYTES = 1 + Integer.BYTES;
+    private static final int MIN_ACTION_BYTES = Integer.BYTES + 1 + Integer.BYTES;
+    private static final int MIN_MONSTER_BYTES = Integer.BYTES + 1 + 4 * Integer.BYTES + 1;
+
+    private static final Element[] ELEMENTS = Element.values();
+    private static final TargetMonster[] TARGETS = TargetMonster.values();
+    private static final Stat[] STATS = Stat.values();
+    private static final StatusCondition[] CONDITIONS = StatusCondition.values();
+    private static final ProtectTarget[] PROTECT_TARGETS = ProtectTarget.values();
+
+    private final Path path;
+    private final byte[] hash;
+
+    /**
+     * Creates the cache of a source file.
+     *
+     * @param source The path of the source file.
+     * @param content The current content of the source file.
+     */
+    public ConfigCache(Path source, byte[] content) {
+        this(source, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * Creates the cache of a source file, whose content is e.g. memory-mapped.
+     *
+     * @param source The path of the source file.
+     * @param content The current content of the source file, from its position to its limit. The position of the buffer is not changed.
+     */
+    public ConfigCache(Path source, ByteBuffer content) {
+        this.path = source.resolveSibling(source.getFileName() + SUFFIX);
+        this.hash = hash(content);
+    }
+
+    /**
+     * Checks whether caching is enabled by the system property {@value #PROPERTY}.
+     *
+     * @return True unless the property is {@code false}.
+     */
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+    }
+
+    /**
+     * Gets the path of the cache file.
+     *
+     * @return The path next to the source file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the cached configuration.
+     *
+     * @return The configuration, or null if there is no cache, it belongs to another content of the source or it cannot be read.
+     */
+    public Config read() {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            return null;
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            byte[] cachedHash = new byte[HASH_LENGTH];
+            buffer.get(cachedHash);
+            if (!Arrays.equals(cachedHash, hash)) {
+                return null;
+            }
+            return decode(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null; // Truncated or corrupted, so it is written again
+        }
+    }
+
+    /**
+     * Writes a configuration to the cache, replacing the previous cache atomically where the file system supports it. Failures are
+     * ignored, the configuration is then parsed again next time.
+     *
+     * @param config The configuration parsed from the current content of the source.
+     */
+    public void write(Config config) {
+        Path temporary = null;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(hash);
+            encode(config, out);
+            out.flush();
+
+            temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            Files.write(temporary, bytes.toByteArray());
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | SecurityException e) {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Nothing left to do, the temporary file stays behind
+                }
+            }
+        }
+    }
+
+    private static byte[] hash(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            digest.update(content.duplicate());
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform supports " + HASH_ALGORITHM, e);
+        }
+    }
+
+    private static void encode(Config config, DataOutputStream out) throws IOException {
+        Map<String, Integer> names = new LinkedHashMap<>();
+        Map<Effect, Integer> effects = new LinkedHashMap<>();
+        Map<Action, Integer> actions = new HashMap<>();
+        for (Action action : config.actions().values()) {
+            names.putIfAbsent(action.name(), names.size());
+            collectEffects(action.effects(), effects);
+        }
+        for (Monster monster : config.monsters().values()) {
+            names.putIfAbsent(monster.name(), names.size());
+        }
+
+        out.writeInt(names.size());
+        for (String name : names.keySet()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(effects.size());
+        for (Effect effect : effects.keySet()) {
+            encodeEffect(effect, effects, out);
+        }
+
+        out.writeInt(config.actions().size());
+        for (Action action : config.actions().values()) {
+            actions.put(action, actions.size());
+            out.writeInt(names.get(action.name()));
+            out.writeByte(action.element().ordinal());
+            out.writeInt(action.effects().size());
+            for (Effect effect : action.effects()) {
+                out.writeInt(effects.get(effect));
+            }
+        }
+
+        out.writeInt(config.monsters().size());
+        for (Monster monster : config.monsters().values()) {
+            out.writeInt(names.get(monster.name()));
+            out.writeByte(monster.element().ordinal());
+            out.writeInt(monster.maxHealth());
+            out.writeInt(monster.baseAttack());
+            out.writeInt(monster.baseDefense());
+            out.writeInt(monster.baseSpeed());
+            out.writeByte(monster.actions().size());
+            for (Action action : monster.actions()) {
+                out.writeInt(actions.get(action));
+            }
+        }
+    }
+
+    private static void collectEffects(List<Effect> list, Map<Effect, Integer> effects) {
+        for (Effect effect : list) {
+            if (effect instanceof RepeatEffect repeat) {
+                collectEffects(repeat.effects(), effects);
+            }
+            effects.putIfAbsent(effect, effects.size());
+        }
+    }
+
+    private static void encodeEffect(Effect effect, Map<Effect, Integer> effects, DataOutputStream out) throws IOException {
+        if (effect instanceof DamageEffect damage) {
+            out.writeByte(DAMAGE);
+            out.writeByte(damage.targetMonster().ordinal());
+            encodeStrength(damage.strength(), out);
+            out.writeInt(damage.hitRate());
+            out.writeBoolean(damage.burn());
+        } else if (effect instanceof HealEffect heal) {
+            out.writeByte(HEAL);
+            out.writeByte(heal.target().ordinal());
+            encodeStrength(heal.strength(), out);
+            out.writeInt(heal.hitRate());
+        } else if (effect instanceof InflictStatChangeEffect change) {
+            out.writeByte(STAT_CHANGE);
+            out.writeByte(change.target().ordinal());
+            out.writeByte(change.stat().ordinal());
+            out.writeInt(change.change());
+            out.writeInt(change.hitRate());
+        } else if (effect instanceof InflictStatusConditionEffect condition) {
+            out.writeByte(STATUS_CONDITION);
+            out.writeByte(condition.target().ordinal());
+            out.writeByte(condition.condition().ordinal());
+            out.writeInt(condition.hitRate());
+        } else if (effect instanceof ProtectStatEffect protect) {
+            out.writeByte(PROTECT);
+            out.writeByte(protect.target().ordinal());
+            encodeCount(protect.count(), out);
+            out.writeInt(protect.hitRate());
+        } else if (effect instanceof ContinueEffect continueEffect) {
+            out.writeByte(CONTINUE);
+            out.writeInt(continueEffect.hitRate());
+        } else if (effect instanceof RepeatEffect repeat) {
+            out.writeByte(REPEAT);
+            encodeCount(repeat.count(), out);
+            out.writeInt(repeat.effects().size());
+            for (Effect inner : repeat.effects()) {
+                out.writeInt(effects.get(inner));
+            }
+        } else {
+            throw new IllegalStateException("Unknown effect " + effect);
+        }
+    }
+
+    private static void encodeStrength(Strength strength, DataOutputStream out) throws IOException {
+        if (strength instanceof BaseStrength base) {
+            out.writeByte(BASE_STRENGTH);
+            out.writeInt(base.value());
+        } else if (strength instanceof RelStrength relative) {
+            out.writeByte(RELATIVE_STRENGTH);
+            out.writeInt(relative.percentage());
+        } else if (strength instanceof AbsStrength absolute) {
+            out.writeByte(ABSOLUTE_STRENGTH);
+            out.writeInt(absolute.value());
+        }
+    }
+
+    private static void encodeCount(Count count, DataOutputStream out) throws IOException {
+        if (count instanceof FixedCount fixed) {
+            out.writeByte(FIXED_COUNT);
+            out.writeInt(fixed.value());
+        } else if (count instanceof RandomCount random) {
+            out.writeByte(RANDOM_COUNT);
+            out.writeInt(random.min());
+            out.writeInt(random.max());
+        }
+    }
+
+    private static Config decode(ByteBuffer in) {
+        // Names are distinct, so the index of a name in the table is its symbol
+        SymbolTable symbols = new SymbolTable();
+        int nameCount = readCount(in, Integer.BYTES);
+        for (int i = 0; i < nameCount; i++) {
+            byte[] bytes = new byte[readCount(in, 1)];
+            in.get(bytes);
+            if (symbols.intern(new String(bytes, StandardCharsets.UTF_8)) != i) {
+                throw new IllegalArgumentException("Duplicate name");
+            }
+        }
+
+        Effect[] effects = new Effect[readCount(in, MIN_EFFECT_BYTES)];
+        for (int i = 0; i < effects.length; i++) {
+            effects[i] = decodeEffect(in, effects);
+        }
+
+        Action[] actionTable = new Action[readCount(in, MIN_ACTION_BYTES)];
+        Map<String, Action> actions = new LinkedHashMap<>();
+        for (int i = 0; i < actionTable.length; i++) {
+            int symbol = Objects.checkIndex(in.getInt(), nameCount);
+            String name = symbols.name(symbol);
+            Element element = ELEMENTS[in.get()];
+            actionTable[i] = new Action(name, element, decodeEffectList(in, effects), symbol);
+            actions.put(name, actionTable[i]);
+        }
+
+        int monsterCount = readCount(in, MIN_MONSTER_BYTES);
+        Map<String, Monster> monsters = new LinkedHashMap<>();
+        for (int i = 0; i < monsterCount; i++) {
+            int symbol = Objects.checkIndex(in.getInt(), nameCount);
+            String name = symbols.name(symbol);
+            Element element = ELEMENTS[in.get()];
+            int maxHealth = in.getInt();
+            int baseAttack = in.getInt();
+            int baseDefense = in.getInt();
+            int baseSpeed = in.getInt();
+            List<Action> monsterActions = new ArrayList<>();
+            for (int count = in.get(); count > 0; count--) {
+                monsterActions.add(actionTable[in.getInt()]);
+            }
+            monsters.put(name, new Monster(monsters.size() + 1, name, element, maxHealth, baseAttack, baseDefense, baseSpeed,
+                    Collections.unmodifiableList(monsterActions), symbol));
+        }
+
+        return new Config(Collections.unmodifiableMap(actions), Collections.unmodifiableMap(monsters), symbols);
+    }
+
+    private static Effect decodeEffect(ByteBuffer in, Effect[] effects) {
+        int kind = in.get();
+        return switch (kind) {
+            case DAMAGE -> new DamageEffect(TARGETS[in.get()], decodeStrength(in), in.getInt(), in.get() != 0);
+            case HEAL -> new HealEffect(TARGETS[in.get()], decodeStrength(in), in.getInt());
+            case STAT_CHANGE -> new InflictStatChangeEffect(TARGETS[in.get()], STATS[in.get()], in.getInt(), in.getInt());
+            case STATUS_CONDITION -> new InflictStatusConditionEffect(TARGETS[in.get()], CONDITIONS[in.get()], in.getInt());
+            case PROTECT -> new ProtectStatEffect(PROTECT_TARGETS[in.get()], decodeCount(in), in.getInt());
+            case CONTINUE -> new ContinueEffect(in.getInt());
+            case REPEAT -> new RepeatEffect(decodeCount(in), decodeEffectList(in, effects));
+            default -> throw new IllegalArgumentException("Unknown effect kind " + kind);
+        };
+    }
+
+    private static List<Effect> decodeEffectList(ByteBuffer in, Effect[] effects) {
+        int size = readCount(in, Integer.BYTES);
+        List<Effect> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Effect effect = effects[in.getInt()];
+            if (effect == null) {
+                throw new IllegalArgumentException("Effect referenced before its definition");
+            }
+            list.add(effect);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Reads the number of entries of a table or list, that must fit into the rest of the cache, so a corrupted count neither fails with
+     * an unexpected exception nor allocates more than the cache could hold.
+     *
+     * @param in The cache.
+     * @param entryBytes The minimum number of bytes of an entry.
+     * @return The number of entries.
+     * @throws IllegalArgumentException If the count is negative or the entries cannot fit into the rest of the cache.
+     */
+    private static int readCount(ByteBuffer in, int entryBytes) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / entryBytes) {
+            throw new IllegalArgumentException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    private static Strength decodeStrength(ByteBuffer in) {
+        int kind = in.get();
+        return switch (kind) {
+            case BASE_STRENGTH -> new BaseStrength(in.getInt());
+            case RELATIVE_STRENGTH -> new RelStrength(in.getInt());
+            case ABSOLUTE_STRENGTH -> new AbsStrength(in.getInt());
+            default -> throw new IllegalArgumentException("Unknown strength kind " + kind);
+        };
+    }
+
+    private static Count decodeCount(ByteBuffer in) {
+        int kind = in.get();
+        return switch (kind) {
+            case FIXED_COUNT -> new FixedCount(in.getInt());
+            case RANDOM_COUNT -> new RandomCount(in.getInt(), in.getInt());
+            default -> throw new IllegalArgumentException("Unknown count kind " + kind);
+        };
+    }
+}
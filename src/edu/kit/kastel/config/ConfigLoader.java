@@ -0,0 +1,124 @@
+package edu.kit.kastel.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import edu.kit.kastel.game.metrics.BattleMetrics;
+import edu.kit.kastel.game.metrics.ConfigPhaseEvent;
+import edu.kit.kastel.game.metrics.ConfigPhaseEvent.Phase;
+
+/**
+ * Loads configuration files: maps the file into memory, takes the configuration from its {@link ConfigCache} if the file is unchanged,
+ * and otherwise checks that the file is valid UTF-8, parses it and stores the result in the cache. Every phase is reported as a
+ * {@link ConfigPhaseEvent}, and parse latencies and loads are counted in the {@link BattleMetrics}. Callers choose the parser, e.g. an
+ * {@link IncrementalParser} for configurations that are reloaded, or a {@link ParallelParser} for large ones.
+ *
+ * @author uupyx
+ */
+public final class ConfigLoader {
+
+    private ConfigLoader() {
+    }
+
+    /**
+     * Loads a configuration file.
+     *
+     * @param path Path to the configuration file.
+     * @param parser Parses the content of the file, unless it is taken from the cache.
+     * @param echo Called once the file is known to be valid UTF-8 and before it is parsed, e.g. to print it verbatim, or null.
+     * @return The configuration.
+     * @throws IOException If the file cannot be read, is not valid UTF-8 or the echo fails.
+     * @throws PositionException If the file cannot be parsed.
+     */
+    public static Config load(String path, ContentParser parser, Echo echo) throws IOException, PositionException {
+        ConfigPhaseEvent read = new ConfigPhaseEvent(path, Phase.READ);
+        read.begin();
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            read.commit();
+        }
+
+        // An unchanged file is taken from its cache, everything else has to be valid UTF-8 before it is echoed
+        ConfigPhaseEvent lookup = new ConfigPhaseEvent(path, Phase.CACHE);
+        lookup.begin();
+        ConfigCache cache = ConfigCache.isEnabled() ? new ConfigCache(Path.of(path), content) : null;
+        Config config = cache != null ? cache.read() : null;
+        lookup.commit();
+        if (config == null) {
+            ConfigPhaseEvent lex = new ConfigPhaseEvent(path, Phase.LEX);
+            lex.begin();
+            try {
+                Lexer.checkEncoding(content);
+            } finally {
+                lex.commit();
+            }
+        }
+
+        if (echo != null) {
+            echo.echo(Path.of(path));
+        }
+
+        BattleMetrics metrics = BattleMetrics.get();
+        if (config == null) {
+            ConfigPhaseEvent parse = new ConfigPhaseEvent(path, Phase.PARSE);
+            parse.begin();
+            long start = System.nanoTime();
+            try {
+                config = parser.parse(content);
+            } finally {
+                parse.commit();
+            }
+            if (metrics != null) {
+                metrics.parsed(System.nanoTime() - start);
+            }
+            if (cache != null) {
+                cache.write(config);
+            }
+        }
+
+        if (metrics != null) {
+            metrics.configLoaded();
+        }
+        return config;
+    }
+
+    /**
+     * Parses the content of a configuration file.
+     *
+     * @author uupyx
+     */
+    @FunctionalInterface
+    public interface ContentParser {
+
+        /**
+         * Parses a configuration.
+         *
+         * @param content The UTF-8 encoded configuration, from its position to its limit.
+         * @return The configuration.
+         * @throws PositionException If parsing fails due to invalid input.
+         */
+        Config parse(ByteBuffer content) throws PositionException;
+    }
+
+    /**
+     * Shows a configuration file, that is being loaded.
+     *
+     * @author uupyx
+     */
+    @FunctionalInterface
+    public interface Echo {
+
+        /**
+         * Shows the file.
+         *
+         * @param path The path of the file.
+         * @throws IOException If the file cannot be read.
+         */
+        void echo(Path path) throws IOException;
+    }
+}
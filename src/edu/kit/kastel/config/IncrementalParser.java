@@ -0,0 +1,179 @@
+package edu.kit.kastel.config;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.Monster;
+
+/**
+ * Parser for configurations, that are loaded again and again, e.g. while they are edited. Every action and monster block of the last
+ * successful load is remembered by a fingerprint of its bytes, and only blocks with new fingerprints are lexed and parsed. Unchanged
+ * actions are reused as they are, unchanged monsters are reused unless their id or one of their actions changed, in which case they are
+ * linked to the current actions again.
+ * <p>
+ * Whenever the blocks cannot be parsed on their own, e.g. because of a syntax error, a duplicate name or content outside of blocks, the
+ * whole configuration is parsed by a {@link Parser}, so the result and the errors are exactly the same as without this parser.
+ * </p>
+ * <p>
+ * Reused blocks keep their symbols, so the names of all loads share one {@link SymbolTable}. A full parse starts a new table, and once
+ * most symbols of the table belong to blocks, that were removed or renamed since, the current blocks are parsed again into a new table,
+ * so a long-running process reloading edited configurations does not grow its table without bound.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class IncrementalParser {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    // The table is rebuilt once it holds this many times the symbols of the current blocks, plus a minimum, so rebuilds stay rare
+    private static final int COMPACTION_FACTOR = 2;
+    private static final int MIN_COMPACTION_SYMBOLS = 64;
+
+    private final MessageDigest digest;
+    // Shared by all loads since the last full parse or compaction, so the symbols of reused actions and monsters stay valid
+    private SymbolTable symbols = new SymbolTable();
+    private Map<Fingerprint, Action> actionBlocks = Map.of();
+    private Map<Fingerprint, Monster> monsterBlocks = Map.of();
+
+    /**
+     * Creates a parser, that has not loaded any configuration yet.
+     */
+    public IncrementalParser() {
+        try {
+            this.digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform supports " + HASH_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Parses a configuration, reusing the blocks it shares with the last successfully parsed one.
+     *
+     * @param content The UTF-8 encoded configuration, from its position to its limit. The position of the buffer is not changed.
+     * @return The configuration.
+     * @throws PositionException If parsing fails due to invalid input. The blocks of the last configuration are kept in that case.
+     */
+    public Config parse(ByteBuffer content) throws PositionException {
+        Config config = parseBlocks(content);
+        if (config != null && symbols.size() > COMPACTION_FACTOR * (config.actions().size() + config.monsters().size())
+                + MIN_COMPACTION_SYMBOLS) {
+            // Only names of actions and monsters are interned, so most symbols belong to blocks, that no longer exist
+            symbols = new SymbolTable();
+            actionBlocks = Map.of();
+            monsterBlocks = Map.of();
+            config = parseBlocks(content);
+        }
+        if (config != null) {
+            return config;
+        }
+
+        SymbolTable fresh = new SymbolTable();
+        config = new Parser(new Lexer(content, fresh)).parse();
+        symbols = fresh;
+        actionBlocks = Map.of();
+        monsterBlocks = Map.of();
+        return config;
+    }
+
+    private Config parseBlocks(ByteBuffer content) {
+        List<ConfigBlock> blocks = ConfigBlock.split(content);
+        if (blocks == null) {
+            return null;
+        }
+
+        Map<Fingerprint, Action> nextActionBlocks = new HashMap<>();
+        Map<Fingerprint, Monster> nextMonsterBlocks = new HashMap<>();
+        Map<String, Action> actions = new LinkedHashMap<>();
+        Map<String, Monster> monsters = new LinkedHashMap<>();
+        Action[] actionsBySymbol = new Action[symbols.size()];
+        try {
+            for (ConfigBlock block : blocks) {
+                Fingerprint fingerprint = fingerprint(content, block);
+                if (block.type() == TokenType.ACTION) {
+                    if (!monsters.isEmpty()) {
+                        return null; // The parser stops at the first action after the monsters
+                    }
+                    Action action = actionBlocks.get(fingerprint);
+                    if (action == null) {
+                        action = new Parser(new Lexer(block.slice(content), symbols)).parseActionBlock();
+                    }
+                    if (actions.putIfAbsent(action.name(), action) != null) {
+                        return null;
+                    }
+                    if (action.symbol() >= actionsBySymbol.length) {
+                        actionsBySymbol = Arrays.copyOf(actionsBySymbol, Math.max(symbols.size(), action.symbol() + 1));
+                    }
+                    actionsBySymbol[action.symbol()] = action;
+                    nextActionBlocks.put(fingerprint, action);
+                } else {
+                    int id = monsters.size() + 1;
+                    Monster monster = monsterBlocks.get(fingerprint);
+                    monster = monster != null ? link(monster, id, actionsBySymbol)
+                            : new Parser(new Lexer(block.slice(content), symbols)).parseMonsterBlock(actionsBySymbol, id);
+                    if (monster == null || monsters.putIfAbsent(monster.name(), monster) != null) {
+                        return null;
+                    }
+                    nextMonsterBlocks.put(fingerprint, monster);
+                }
+            }
+        } catch (PositionException e) {
+            return null; // Reported with the position in the whole configuration by the parser
+        }
+
+        actionBlocks = nextActionBlocks;
+        monsterBlocks = nextMonsterBlocks;
+        return new Config(Collections.unmodifiableMap(actions), Collections.unmodifiableMap(monsters), symbols);
+    }
+
+    /**
+     * Links an unchanged monster block to the current actions.
+     *
+     * @param monster The monster parsed from the block before.
+     * @param id The current id of the monster.
+     * @param actionsBySymbol The current actions, indexed by their symbols.
+     * @return The monster itself if nothing changed, a new monster with the current id and actions, or null if an action is missing.
+     */
+    private static Monster link(Monster monster, int id, Action[] actionsBySymbol) {
+        boolean changed = monster.id() != id;
+        List<Action> linked = new ArrayList<>(monster.actions().size());
+        for (Action action : monster.actions()) {
+            Action current = action.symbol() < actionsBySymbol.length ? actionsBySymbol[action.symbol()] : null;
+            if (current == null) {
+                return null;
+            }
+            changed |= current != action;
+            linked.add(current);
+        }
+
+        if (!changed) {
+            return monster;
+        }
+        return new Monster(id, monster.name(), monster.element(), monster.maxHealth(), monster.baseAttack(), monster.baseDefense(),
+                monster.baseSpeed(), Collections.unmodifiableList(linked), monster.symbol());
+    }
+
+    private Fingerprint fingerprint(ByteBuffer content, ConfigBlock block) {
+        digest.update(block.slice(content));
+        byte[] hash = digest.digest();
+        return new Fingerprint(ByteBuffer.wrap(hash).getLong(), ByteBuffer.wrap(hash).getLong(Long.BYTES));
+    }
+
+    /**
+     * The first 128 bits of the hash of a block.
+     *
+     * @param high The first 64 bits.
+     * @param low The second 64 bits.
+     */
+    private record Fingerprint(long high, long low) {
+    }
+}
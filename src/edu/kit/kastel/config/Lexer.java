@@ -1,17 +1,27 @@
 package edu.kit.kastel.config;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Lexical analyzer for configuration files (Spec A.4.1). Tokenizes input into meaningful units for parsing.
+ * <p>
+ * Tokens are produced one at a time by {@link #next()}, so a {@link Parser} can consume them while they are read. The input is read
+ * through a window of characters, that only grows to hold the longest token, so even very large inputs, e.g. memory-mapped files, are
+ * lexed in constant memory.
+ * </p>
  *
  * @author uupyx
  */
-public final class Lexer {
+public final class Lexer implements TokenStream {
 
     // Keywords mapped to TokenTypes (Spec A.4.1, Tokens)
     private static final Map<String, TokenType> KEYWORDS = Map.ofEntries(Map.entry("action", TokenType.ACTION),
@@ -27,20 +37,95 @@ public final class Lexer {
             Map.entry("PRC", TokenType.PRC), Map.entry("AGL", TokenType.AGL), Map.entry("health", TokenType.HEALTH),
             Map.entry("stats", TokenType.STATS), Map.entry("user", TokenType.USER), Map.entry("target", TokenType.TARGET));
 
+    private static final int WINDOW_SIZE = 1 << 16;
+
+    // Exactly one of the sources is set
     private final String input;
-    private final int length;
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder;
+    private final SymbolTable symbols;
+    private int copied;
+    private boolean exhausted;
+
+    private char[] window;
+    private int limit;
     private int pos = 0;
+    private int start = -1;
     private int line = 0;
     private int column = 1;
 
     /**
-     * Creates a lexer for the given input.
+     * Creates a lexer for the given input, that interns identifiers into a new symbol table.
      *
      * @param input Configuration file content
      */
     public Lexer(String input) {
+        this(input, new SymbolTable());
+    }
+
+    /**
+     * Creates a lexer for the given input.
+     *
+     * @param input Configuration file content
+     * @param symbols The table, that identifiers are interned into.
+     */
+    public Lexer(String input, SymbolTable symbols) {
         this.input = input;
-        this.length = input.length();
+        this.bytes = null;
+        this.decoder = null;
+        this.symbols = symbols;
+        this.window = new char[windowSize(input.length())];
+    }
+
+    /**
+     * Creates a lexer for UTF-8 encoded input, e.g. a memory-mapped configuration file, that interns identifiers into a new symbol
+     * table. The bytes are decoded while they are lexed.
+     *
+     * @param input Configuration file content, from its position to its limit. The position of the buffer itself is not changed.
+     */
+    public Lexer(ByteBuffer input) {
+        this(input, new SymbolTable());
+    }
+
+    /**
+     * Creates a lexer for UTF-8 encoded input, e.g. a memory-mapped configuration file. The bytes are decoded while they are lexed.
+     *
+     * @param input Configuration file content, from its position to its limit. The position of the buffer itself is not changed.
+     * @param symbols The table, that identifiers are interned into. It may be shared with lexers running in parallel.
+     */
+    public Lexer(ByteBuffer input, SymbolTable symbols) {
+        this.input = null;
+        this.bytes = input.duplicate();
+        this.decoder = StandardCharsets.UTF_8.newDecoder();
+        this.symbols = symbols;
+        this.window = new char[windowSize(input.remaining())]; // UTF-8 never decodes to more characters than bytes
+    }
+
+    // Small inputs, e.g. single blocks of a configuration, fit into a window with room to spare, so their lexers stay small
+    private static int windowSize(int inputLength) {
+        return Math.min(WINDOW_SIZE, inputLength + 1);
+    }
+
+    /**
+     * Checks, that input is valid UTF-8, without keeping the decoded characters.
+     *
+     * @param input The input, from its position to its limit. The position of the buffer itself is not changed.
+     * @throws CharacterCodingException If the input is not valid UTF-8.
+     */
+    public static void checkEncoding(ByteBuffer input) throws CharacterCodingException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        ByteBuffer remaining = input.duplicate();
+        CharBuffer characters = CharBuffer.allocate(WINDOW_SIZE);
+        while (true) {
+            CoderResult result = decoder.decode(remaining, characters, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isUnderflow()) {
+                return;
+            }
+            characters.clear();
+        }
     }
 
     /**
@@ -50,43 +135,56 @@ public final class Lexer {
      * @throws PositionException On unknown characters
      */
     public List<Token> tokenize() throws PositionException {
-        List<Token> tokens = new LinkedList<>();
+        List<Token> tokens = new ArrayList<>();
+        Token token;
+        do {
+            token = next();
+            tokens.add(token);
+        } while (token.type() != TokenType.EOF);
 
-        while (!isAtEnd()) {
-            skipWhitespaceExceptNewline();
-            if (isAtEnd()) {
-                break;
-            }
+        return Collections.unmodifiableList(tokens);
+    }
 
-            char c = peek();
-            if (isNewLine(c)) {
-                tokens.add(new Token(TokenType.NEWLINE, consumeNewline(), line, column));
-            } else if (isNumberStart(c)) {
-                tokens.add(numberToken());
-            } else if (Character.isAlphabetic(c)) {
-                tokens.add(identifierOrKeywordToken());
-            } else {
-                throw new PositionException("Unknown character", line, column);
-            }
-        }
+    @Override
+    public SymbolTable symbols() {
+        return symbols;
+    }
 
-        // Add end-of-file (EOF) token to indicate the end of input.
-        tokens.add(new Token(TokenType.EOF, null, line, column));
+    /**
+     * Reads the next token. After the end of the input, every call returns an end-of-file (EOF) token.
+     *
+     * @return The next token
+     * @throws PositionException On unknown characters or input, that is not valid UTF-8
+     */
+    @Override
+    public Token next() throws PositionException {
+        skipWhitespaceExceptNewline();
+        if (isAtEnd()) {
+            return new Token(TokenType.EOF, null, line, column);
+        }
 
-        return Collections.unmodifiableList(new ArrayList<>(tokens));
+        char c = peek();
+        if (isNewLine(c)) {
+            return new Token(TokenType.NEWLINE, consumeNewline(), line, column);
+        } else if (isNumberStart(c)) {
+            return numberToken();
+        } else if (Character.isAlphabetic(c)) {
+            return identifierOrKeywordToken();
+        }
+        throw new PositionException("Unknown character", line, column);
     }
 
     private boolean isNewLine(char c) {
         return c == '\n' || c == '\r';
     }
 
-    private boolean isNumberStart(char c) {
-        return Character.isDigit(c) || ((c == '+' || c == '-') && (pos + 1 < length && Character.isDigit(input.charAt(pos + 1))));
+    private boolean isNumberStart(char c) throws PositionException {
+        return Character.isDigit(c) || ((c == '+' || c == '-') && (isAvailable(2) && Character.isDigit(window[pos + 1])));
     }
 
-    private Token numberToken() {
+    private Token numberToken() throws PositionException {
         int startColumn = column;
-        int startPos = pos;
+        start = pos;
 
         char c = peek();
 
@@ -98,26 +196,31 @@ public final class Lexer {
             advance();
         }
 
-        String lexeme = input.substring(startPos, pos);
+        String lexeme = lexeme();
 
         return new Token(TokenType.INTEGER, lexeme, line, startColumn);
     }
 
-    private Token identifierOrKeywordToken() {
+    private Token identifierOrKeywordToken() throws PositionException {
         int startColumn = column;
-        int startPos = pos;
+        start = pos;
 
         while (!isAtEnd() && !Character.isWhitespace(peek())) {
             advance();
         }
 
-        String lexeme = input.substring(startPos, pos);
+        String lexeme = lexeme();
         TokenType type = KEYWORDS.getOrDefault(lexeme, TokenType.IDENTIFIER);
+        if (type != TokenType.IDENTIFIER) {
+            return new Token(type, lexeme, line, startColumn);
+        }
 
-        return new Token(type, lexeme, line, startColumn);
+        // Every occurrence of a name shares the interned string
+        int symbol = symbols.intern(lexeme);
+        return new Token(type, symbols.name(symbol), symbol, line, startColumn);
     }
 
-    private void skipWhitespaceExceptNewline() {
+    private void skipWhitespaceExceptNewline() throws PositionException {
         while (!isAtEnd()) {
             char c = peek();
 
@@ -129,35 +232,93 @@ public final class Lexer {
         }
     }
 
-    private String consumeNewline() {
-        StringBuilder stringBuilder = new StringBuilder(2);
+    private String consumeNewline() throws PositionException {
+        String newline = "";
 
         if (peek() == '\r') {
-            stringBuilder.append(advance());
+            advance();
+            newline = "\r";
 
             if (!isAtEnd() && peek() == '\n') {
-                stringBuilder.append(advance());
+                advance();
+                newline = "\r\n";
             }
         } else if (peek() == '\n') {
-            stringBuilder.append(advance());
+            advance();
+            newline = "\n";
         }
 
         line++;
         column = 1;
-        return stringBuilder.toString();
+        return newline;
+    }
+
+    private String lexeme() {
+        String lexeme = new String(window, start, pos - start);
+        start = -1;
+        return lexeme;
     }
 
     private char peek() {
-        return input.charAt(pos);
+        return window[pos];
     }
 
     private char advance() {
-        char c = input.charAt(pos++);
+        char c = window[pos++];
         column++;
         return c;
     }
 
-    private boolean isAtEnd() {
-        return pos >= length;
+    private boolean isAtEnd() throws PositionException {
+        return !isAvailable(1);
+    }
+
+    /**
+     * Makes sure, that the given number of characters from the current position are in the window, unless the input ends before.
+     *
+     * @param count The number of characters.
+     * @return True if they are available, false if the input ends before.
+     * @throws PositionException If the input is not valid UTF-8.
+     */
+    private boolean isAvailable(int count) throws PositionException {
+        while (pos + count > limit && !exhausted) {
+            fill();
+        }
+        return pos + count <= limit;
+    }
+
+    private void fill() throws PositionException {
+        // Keeps the current token, drops everything before it and grows the window only if the token fills it
+        int keep = start == -1 ? pos : start;
+        System.arraycopy(window, keep, window, 0, limit - keep);
+        limit -= keep;
+        pos -= keep;
+        if (start != -1) {
+            start = 0;
+        }
+        if (limit == window.length) {
+            char[] grown = new char[window.length * 2];
+            System.arraycopy(window, 0, grown, 0, limit);
+            window = grown;
+        }
+
+        if (input != null) {
+            int count = Math.min(window.length - limit, input.length() - copied);
+            input.getChars(copied, copied + count, window, limit);
+            copied += count;
+            limit += count;
+            exhausted = copied == input.length();
+        } else {
+            CharBuffer characters = CharBuffer.wrap(window, limit, window.length - limit);
+            CoderResult result = decoder.decode(bytes, characters, true);
+            if (result.isError()) {
+                throw new PositionException("Invalid character encoding", line, column);
+            }
+            if (result.isUnderflow()) {
+                decoder.flush(characters);
+                exhausted = true;
+            }
+            limit = characters.position();
+        }
     }
 }
@@ -0,0 +1,161 @@
+package edu.kit.kastel.config;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.Monster;
+
+/**
+ * Parser for large configurations, that lexes and parses their blocks on a fork-join pool. The configuration is split at the line
+ * starts of its action and monster blocks, all action blocks are parsed in parallel, and a link phase collects the actions in file order.
+ * Then all monster blocks are parsed in parallel, resolving their actions by symbol against the linked actions, and a second link phase
+ * collects the monsters in file order, which gives them the same ids as the {@link Parser}. All blocks share one {@link SymbolTable}.
+ * <p>
+ * Blocks are parsed independently, so a block that fails to parse does not stop the others. Whenever a block fails, a name is defined
+ * twice or there is content outside of blocks, the whole configuration is parsed by a {@link Parser} instead, so the result and the
+ * reported errors are exactly the same as without this parser. Small configurations are always parsed that way.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class ParallelParser {
+
+    // Below this size, splitting and forking costs more than it saves
+    private static final int MIN_PARALLEL_BYTES = 1 << 20;
+
+    // Upper bound of tasks per worker thread, small enough to keep the splitting overhead negligible
+    private static final int TASKS_PER_THREAD = 16;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a parser, that parses on the given pool.
+     *
+     * @param pool The pool parsing the blocks.
+     */
+    public ParallelParser(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parses a configuration.
+     *
+     * @param content The UTF-8 encoded configuration, from its position to its limit. The position of the buffer is not changed.
+     * @return The configuration.
+     * @throws PositionException If parsing fails due to invalid input.
+     */
+    public Config parse(ByteBuffer content) throws PositionException {
+        Config config = content.remaining() >= MIN_PARALLEL_BYTES ? parseBlocks(content) : null;
+        if (config != null) {
+            return config;
+        }
+        return new Parser(new Lexer(content)).parse();
+    }
+
+    private Config parseBlocks(ByteBuffer content) {
+        List<ConfigBlock> blocks = ConfigBlock.split(content);
+        if (blocks == null) {
+            return null;
+        }
+
+        SymbolTable symbols = new SymbolTable();
+        int actionCount = actionBlocks(blocks);
+        for (int i = actionCount; i < blocks.size(); i++) {
+            if (blocks.get(i).type() != TokenType.MONSTER) {
+                return null; // The parser stops at the first action after the monsters
+            }
+        }
+
+        Action[] parsedActions = new Action[actionCount];
+        pool.invoke(new BlockTask(0, actionCount, grain(actionCount), index -> {
+            parsedActions[index] = new Parser(new Lexer(blocks.get(index).slice(content), symbols)).parseActionBlock();
+        }));
+
+        Map<String, Action> actions = new LinkedHashMap<>();
+        Action[] actionsBySymbol = new Action[symbols.size()];
+        for (Action action : parsedActions) {
+            if (action == null || actions.putIfAbsent(action.name(), action) != null) {
+                return null;
+            }
+            actionsBySymbol[action.symbol()] = action;
+        }
+
+        int monsterCount = blocks.size() - actionCount;
+        Monster[] parsedMonsters = new Monster[monsterCount];
+        pool.invoke(new BlockTask(0, monsterCount, grain(monsterCount), index -> {
+            ConfigBlock block = blocks.get(actionCount + index);
+            parsedMonsters[index] = new Parser(new Lexer(block.slice(content), symbols)).parseMonsterBlock(actionsBySymbol, index + 1);
+        }));
+
+        Map<String, Monster> monsters = new LinkedHashMap<>();
+        for (Monster monster : parsedMonsters) {
+            if (monster == null || monsters.putIfAbsent(monster.name(), monster) != null) {
+                return null;
+            }
+        }
+
+        return new Config(Collections.unmodifiableMap(actions), Collections.unmodifiableMap(monsters), symbols);
+    }
+
+    private static int actionBlocks(List<ConfigBlock> blocks) {
+        int count = 0;
+        while (count < blocks.size() && blocks.get(count).type() == TokenType.ACTION) {
+            count++;
+        }
+        return count;
+    }
+
+    private int grain(int blocks) {
+        return Math.max(1, blocks / (pool.getParallelism() * TASKS_PER_THREAD));
+    }
+
+    /**
+     * Parses a single block and stores the result at its index.
+     */
+    private interface BlockParser {
+        void parse(int index) throws PositionException;
+    }
+
+    /**
+     * Parses a contiguous range of blocks. A block, that fails to parse, leaves its result empty.
+     */
+    private static final class BlockTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final transient BlockParser parser;
+
+        BlockTask(int from, int to, int grain, BlockParser parser) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.parser = parser;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BlockTask(from, middle, grain, parser), new BlockTask(middle, to, grain, parser));
+                return;
+            }
+
+            for (int index = from; index < to; index++) {
+                try {
+                    parser.parse(index);
+                } catch (PositionException e) {
+                    // Left empty, the link phase falls back to the sequential parser for the exact error
+                }
+            }
+        }
+    }
+}
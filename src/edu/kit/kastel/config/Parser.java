@@ -1,6 +1,7 @@
 package edu.kit.kastel.config;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -32,48 +33,152 @@ import edu.kit.kastel.game.model.strength.Strength;
 /**
  * A parser that converts a list of tokens into a structured configuration for the monster battle game. The parser processes tokens
  * generated by the lexer and constructs the game configuration, including actions and monsters. It ensures that all elements are
- * syntactically valid and throws errors when encountering unexpected tokens.
+ * syntactically valid and throws errors when encountering unexpected tokens. Tokens are pulled from a {@link TokenStream} with a lookahead
+ * of one token, so a {@link Lexer} can be parsed while it reads the input.
  *
  * @author uupyx
  */
 public final class Parser {
 
-    private final List<Token> tokens;
-    private int pos = 0;
+    private final TokenStream tokens;
+    private final SymbolTable symbols;
+    private Token current;
+    private Token previous;
     private Map<String, Action> actions;
     private Map<String, Monster> monsters;
+    // Indexed by the symbols of the names, for lookups without hashing
+    private Action[] actionsBySymbol = new Action[0];
+    private boolean[] monsterDefined = new boolean[0];
+    private boolean lexerFailed;
 
     /**
-     * Constructs a parser with a given list of tokens.
+     * Constructs a parser with a given list of tokens, whose identifiers are interned again into a new symbol table.
      *
      * @param tokens The list of tokens to be parsed.
      */
     public Parser(List<Token> tokens) {
+        this(TokenStream.of(tokens));
+    }
+
+    /**
+     * Constructs a parser with a given list of tokens.
+     *
+     * @param tokens The list of tokens to be parsed.
+     * @param symbols The symbol table of the lexer, that produced the tokens.
+     */
+    public Parser(List<Token> tokens, SymbolTable symbols) {
+        this(TokenStream.of(tokens, symbols));
+    }
+
+    /**
+     * Constructs a parser, that reads its tokens while parsing.
+     *
+     * @param tokens The stream of tokens to be parsed, e.g. a {@link Lexer}.
+     */
+    public Parser(TokenStream tokens) {
         this.tokens = tokens;
+        this.symbols = tokens.symbols();
     }
 
     /**
-     * Parses the token list and creates a game configuration.
+     * Parses the token list and creates a game configuration. The whole input is read, even after the last monster or a parse error, so
+     * the input is accepted and errors are reported exactly as if it had been lexed completely before parsing: any token that cannot be
+     * read fails the configuration, and a lexer error takes precedence over a parse error.
      *
      * @return A {@link Config} object containing parsed actions and monsters.
      * @throws PositionException If parsing fails due to invalid input.
      */
     public Config parse() throws PositionException {
+        Config config;
+        try {
+            config = parseConfig();
+        } catch (PositionException e) {
+            if (!lexerFailed) {
+                drain(); // Throws the first lexer error after the parse error instead
+            }
+            throw e;
+        }
+        drain();
+        return config;
+    }
+
+    private Config parseConfig() throws PositionException {
+        current = next();
         actions = new LinkedHashMap<>();
         while (match(TokenType.ACTION)) {
             Action action = parseAction();            
             actions.put(action.name(), action);
+            actionsBySymbol = ensureCapacity(actionsBySymbol, action.symbol());
+            actionsBySymbol[action.symbol()] = action;
         }
 
         // The LinkedHashMap makes sure, that the insertion order is still there, making it easier to later address monster by their id,
         // instead of their name. Allows to be addressed by name as well as key. Perfect!
         monsters = new LinkedHashMap<>();
         while (match(TokenType.MONSTER)) {
-            Monster monster = parseMonster();
+            Monster monster = parseMonster(monsters.size() + 1);
             monsters.put(monster.name(), monster);
+            if (monster.symbol() >= monsterDefined.length) {
+                monsterDefined = Arrays.copyOf(monsterDefined, Math.max(symbols.size(), monster.symbol() + 1));
+            }
+            monsterDefined[monster.symbol()] = true;
         }
 
-        return new Config(Collections.unmodifiableMap(actions), Collections.unmodifiableMap(monsters));
+        return new Config(Collections.unmodifiableMap(actions), Collections.unmodifiableMap(monsters), symbols);
+    }
+
+    /**
+     * Parses a single action block, that has been cut out of a configuration by {@link ConfigBlock#split(java.nio.ByteBuffer)}. The
+     * block has to end after the newlines following {@code end action}.
+     *
+     * @return The action.
+     * @throws PositionException If the block is no complete action. The position is relative to the start of the block.
+     */
+    Action parseActionBlock() throws PositionException {
+        current = next();
+        consume(TokenType.ACTION, "Expected 'action'");
+        Action action = parseAction();
+        if (!isAtEnd()) {
+            throw error("Expected end of action block");
+        }
+        return action;
+    }
+
+    /**
+     * Parses a single monster block, that has been cut out of a configuration by {@link ConfigBlock#split(java.nio.ByteBuffer)}.
+     *
+     * @param actionsBySymbol All actions of the configuration, that the monster may reference, indexed by their symbols. The array is
+     *        only read.
+     * @param id The id of the monster, i.e. its position among the monsters of the configuration.
+     * @return The monster.
+     * @throws PositionException If the block is no complete monster or references an unknown action. The position is relative to the
+     *         start of the block.
+     */
+    Monster parseMonsterBlock(Action[] actionsBySymbol, int id) throws PositionException {
+        current = next();
+        this.actionsBySymbol = actionsBySymbol;
+        consume(TokenType.MONSTER, "Expected 'monster'");
+        Monster monster = parseMonster(id);
+        if (!isAtEnd()) {
+            throw error("Expected end of monster block");
+        }
+        return monster;
+    }
+
+    /**
+     * Grows an array indexed by symbols, so it holds the given symbol and all symbols of the table so far.
+     *
+     * @param <T> The type of the elements.
+     * @param array The array.
+     * @param symbol The symbol.
+     * @return The array itself, or a larger copy.
+     */
+    private <T> T[] ensureCapacity(T[] array, int symbol) {
+        return symbol < array.length ? array : Arrays.copyOf(array, Math.max(symbols.size(), symbol + 1));
+    }
+
+    private Action findAction(int symbol) {
+        return symbol < actionsBySymbol.length ? actionsBySymbol[symbol] : null;
     }
 
     private int parseInteger(String message) throws PositionException {
@@ -86,9 +191,10 @@ public final class Parser {
     }
 
     private Action parseAction() throws PositionException {
-        String name = consume(TokenType.IDENTIFIER, "Expected action name").lexeme();
+        Token nameToken = consume(TokenType.IDENTIFIER, "Expected action name");
+        String name = nameToken.lexeme();
 
-        if (actions.containsKey(name)) {
+        if (findAction(nameToken.symbol()) != null) {
             throw error("Action '" + name + "' already exists");
         }
 
@@ -107,7 +213,7 @@ public final class Parser {
         consume(TokenType.ACTION, "Expected 'action' after 'end'");
         consumeAtLeastOneNewline("Expected newline after end of action");
 
-        return new Action(name, element, effects);
+        return new Action(name, element, effects, nameToken.symbol());
     }
 
     private List<Effect> parseEffects(boolean allowRepeat, CheckStopCondition stopCondition) throws PositionException {
@@ -270,9 +376,10 @@ public final class Parser {
         }
     }
 
-    private Monster parseMonster() throws PositionException {
-        String name = consume(TokenType.IDENTIFIER, "Expected monster name").lexeme();
-        if (monsters.containsKey(name)) {
+    private Monster parseMonster(int id) throws PositionException {
+        Token nameToken = consume(TokenType.IDENTIFIER, "Expected monster name");
+        String name = nameToken.lexeme();
+        if (nameToken.symbol() < monsterDefined.length && monsterDefined[nameToken.symbol()]) {
             throw error("Monster '" + name + "' already exists");
         }
 
@@ -290,19 +397,20 @@ public final class Parser {
                 throw error("Too many attacks");
             }
             
-            String actionName = consume(TokenType.IDENTIFIER, "Expected action name for monster").lexeme();
-            if (!this.actions.containsKey(actionName)) {
-                throw error("Monster '" + name + "' references unknown action '" + actionName + "'");
+            Token actionToken = consume(TokenType.IDENTIFIER, "Expected action name for monster");
+            Action action = findAction(actionToken.symbol());
+            if (action == null) {
+                throw error("Monster '" + name + "' references unknown action '" + actionToken.lexeme() + "'");
             }
-            actions.add(this.actions.get(actionName));
+            actions.add(action);
         } while (!check(TokenType.NEWLINE) && !isAtEnd());
 
         if (!isAtEnd()) {
             consumeAtLeastOneNewline("Expected new line after monster decleration");
         }
 
-        return new Monster(monsters.size() + 1, name, element, maxHealth, baseAttack, baseDefense, baseSpeed,
-                Collections.unmodifiableList(actions));
+        return new Monster(id, name, element, maxHealth, baseAttack, baseDefense, baseSpeed,
+                Collections.unmodifiableList(actions), nameToken.symbol());
     }
 
     private Token consumeOneOf(String message, TokenType... types) throws PositionException {
@@ -337,7 +445,7 @@ public final class Parser {
         }
     }
 
-    private boolean match(TokenType type) {
+    private boolean match(TokenType type) throws PositionException {
         if (check(type)) {
             advance();
             return true;
@@ -345,6 +453,23 @@ public final class Parser {
         return false;
     }
 
+    private Token next() throws PositionException {
+        try {
+            return tokens.next();
+        } catch (PositionException e) {
+            lexerFailed = true;
+            throw e;
+        }
+    }
+
+    // Reads the tokens, that the parser did not need
+    private void drain() throws PositionException {
+        Token token = current;
+        while (token.type() != TokenType.EOF) {
+            token = next();
+        }
+    }
+
     private PositionException error(String message) {
         Token token = peek();
         return new PositionException(message, token.line(), token.column());
@@ -354,12 +479,13 @@ public final class Parser {
         return !isAtEnd() && peek().type() == type;
     }
 
-    private Token advance() {
+    private Token advance() throws PositionException {
         if (!isAtEnd()) {
-            pos++;
+            previous = current;
+            current = next();
         }
 
-        return tokens.get(pos - 1);
+        return previous;
     }
 
     private boolean isAtEnd() {
@@ -367,7 +493,7 @@ public final class Parser {
     }
 
     private Token peek() {
-        return tokens.get(pos);
+        return current;
     }
 
     /**
@@ -0,0 +1,85 @@
+package edu.kit.kastel.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of interned names, that hands out dense integer ids (symbols) in the order the names are first seen. Names are hashed once, when
+ * they are interned by the {@link Lexer} or looked up from user input; everything behind that works with the symbols, e.g. as indices
+ * into arrays.
+ * <p>
+ * The table may be shared by lexers running in parallel. Looking up a known name does not lock, interning a new one does.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class SymbolTable {
+
+    /** The symbol of names, that are not in the table. */
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> symbols = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the symbol of a name, adding the name if it is new.
+     *
+     * @param name The name.
+     * @return The symbol of the name.
+     */
+    public int intern(String name) {
+        Integer symbol = symbols.get(name);
+        if (symbol != null) {
+            return symbol;
+        }
+
+        synchronized (this) {
+            symbol = symbols.get(name);
+            if (symbol != null) {
+                return symbol;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = name;
+            names = current; // Publishes the name before its symbol
+            symbols.put(name, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Gets the symbol of a name without adding it.
+     *
+     * @param name The name.
+     * @return The symbol of the name, or {@link #NONE} if it is not in the table.
+     */
+    public int lookup(String name) {
+        Integer symbol = symbols.get(name);
+        return symbol != null ? symbol : NONE;
+    }
+
+    /**
+     * Gets the interned name of a symbol.
+     *
+     * @param symbol The symbol.
+     * @return The name, the same instance every time.
+     */
+    public String name(int symbol) {
+        return names[symbol];
+    }
+
+    /**
+     * Gets the number of symbols. Every symbol is smaller than this number.
+     *
+     * @return The number of symbols.
+     */
+    public int size() {
+        return symbols.size();
+    }
+}
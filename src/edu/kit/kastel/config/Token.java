@@ -5,11 +5,23 @@ package edu.kit.kastel.config;
  *
  * @param type The type
  * @param lexeme The actual string representation of the token from the input.
+ * @param symbol The symbol of an identifier in the {@link SymbolTable} of its lexer, {@link SymbolTable#NONE} for other tokens.
  * @param line The line number where the token appears in the input.
  * @param column The column number where the token starts in the input.
  *
  * @author uupyx
  */
-public record Token(TokenType type, String lexeme, int line, int column) {
+public record Token(TokenType type, String lexeme, int symbol, int line, int column) {
 
+    /**
+     * Creates a token, that is no interned identifier.
+     *
+     * @param type The type
+     * @param lexeme The actual string representation of the token from the input.
+     * @param line The line number where the token appears in the input.
+     * @param column The column number where the token starts in the input.
+     */
+    public Token(TokenType type, String lexeme, int line, int column) {
+        this(type, lexeme, SymbolTable.NONE, line, column);
+    }
 }
@@ -0,0 +1,79 @@
+package edu.kit.kastel.config;
+
+import java.util.List;
+
+/**
+ * Source of tokens for the {@link Parser}, read one token at a time.
+ *
+ * @author uupyx
+ */
+public interface TokenStream {
+
+    /**
+     * Reads the next token. After the end-of-file (EOF) token, every call returns an EOF token again.
+     *
+     * @return The next token.
+     * @throws PositionException If the next token cannot be read.
+     */
+    Token next() throws PositionException;
+
+    /**
+     * Gets the table, that the identifiers of the tokens are interned into.
+     *
+     * @return The symbol table.
+     */
+    SymbolTable symbols();
+
+    /**
+     * Creates a stream over an already tokenized input, whose identifiers are interned into the given table.
+     *
+     * @param tokens The tokens, ending with an EOF token.
+     * @param symbols The table of the lexer, that produced the tokens.
+     * @return The stream.
+     */
+    static TokenStream of(List<Token> tokens, SymbolTable symbols) {
+        return new TokenStream() {
+            private int pos = 0;
+
+            @Override
+            public Token next() {
+                Token token = tokens.get(pos);
+                if (pos < tokens.size() - 1) {
+                    pos++;
+                }
+                return token;
+            }
+
+            @Override
+            public SymbolTable symbols() {
+                return symbols;
+            }
+        };
+    }
+
+    /**
+     * Creates a stream over an already tokenized input, whose identifiers are interned again into a new table.
+     *
+     * @param tokens The tokens, ending with an EOF token.
+     * @return The stream.
+     */
+    static TokenStream of(List<Token> tokens) {
+        SymbolTable symbols = new SymbolTable();
+        TokenStream stream = of(tokens, symbols);
+        return new TokenStream() {
+            @Override
+            public Token next() throws PositionException {
+                Token token = stream.next();
+                if (token.type() != TokenType.IDENTIFIER) {
+                    return token;
+                }
+                return new Token(token.type(), token.lexeme(), symbols.intern(token.lexeme()), token.line(), token.column());
+            }
+
+            @Override
+            public SymbolTable symbols() {
+                return symbols;
+            }
+        };
+    }
+}
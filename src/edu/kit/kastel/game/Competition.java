@@ -1,13 +1,21 @@
 package edu.kit.kastel.game;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import edu.kit.kastel.config.SymbolTable;
 import edu.kit.kastel.game.console.Console;
 import edu.kit.kastel.game.console.Message;
+import edu.kit.kastel.game.console.Terminal;
 import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.decision.MeteredDecisionMaker;
+import edu.kit.kastel.game.metrics.BattleMetrics;
+import edu.kit.kastel.game.metrics.DecisionEvent;
+import edu.kit.kastel.game.metrics.RoundEvent;
 import edu.kit.kastel.game.model.Action;
 import edu.kit.kastel.game.model.Monster;
 import edu.kit.kastel.game.model.Stat;
@@ -15,68 +23,161 @@ import edu.kit.kastel.game.model.effect.DamageEffect;
 import edu.kit.kastel.game.model.effect.Effect;
 import edu.kit.kastel.game.model.effect.HittableEffect;
 import edu.kit.kastel.game.model.effect.RepeatEffect;
+import edu.kit.kastel.game.model.status.BattleState;
 import edu.kit.kastel.game.model.status.MonsterStatus;
 
 /**
- * Manages the competition between monsters in the battle.
+ * Manages the competition between monsters in the battle. All output of the battle, including the output of the model, goes to the
+ * {@link Terminal} of the competition.
  *
  * @author uupyx
  */
 public final class Competition {
 
     private final List<MonsterStatus> monsters;
+    private final DecisionMaker decisionMaker;
+    private final Terminal terminal;
+    private final BattleMetrics metrics;
+    private final BattleState state;
+    private final BattleState initialState;
     private boolean finished;
+    private boolean started; // Only tracked for the metrics
+    private int round;
     private int currentSelectingMonsterIndex;
     private boolean phaseIComplete;
     private Map<MonsterStatus, Action> selectedActions;
     private Map<MonsterStatus, MonsterStatus> selectedTargets;
 
+    // Display names and action names of the lineup, interned once, so commands are resolved by symbol. Monsters sharing a display name
+    // are chained in lineup order.
+    private final SymbolTable names = new SymbolTable();
+    private final int[] firstWithName;
+    private final int[] nextWithName;
+    private final int[][] actionSymbols;
+
+    // Non-fainted monsters in order of speed, moved as their speed changes, and the order taken at the start of the current round
+    private final SpeedOrder speedOrder;
+    private final int[] turnOrder;
+
+    // Last captured state of every monster and the modification count it was captured at, shared by all snapshots taken since
+    private final BattleState.Slice[] sharedSlices;
+    private final int[] sharedModifications;
+
     /**
-     * Constructs a new competition with the provided monsters and decision maker.
+     * Constructs a new competition with the provided monsters and decision maker, that writes to the terminal of the current console.
      *
      * @param monsters The list of monsters participating in the competition.
      * @param decisionMaker The decision maker used for selecting actions.
      */
     public Competition(Monster[] monsters, DecisionMaker decisionMaker) {
+        this(monsters, decisionMaker, Console.terminal());
+    }
+
+    /**
+     * Constructs a new competition with the provided monsters and decision maker.
+     *
+     * @param monsters The list of monsters participating in the competition.
+     * @param decisionMaker The decision maker used for selecting actions.
+     * @param terminal The terminal all output of the competition goes to.
+     */
+    public Competition(Monster[] monsters, DecisionMaker decisionMaker, Terminal terminal) {
+        this(monsters, decisionMaker, terminal, BattleMetrics.get());
+    }
+
+    private Competition(Monster[] monsters, DecisionMaker decisionMaker, Terminal terminal, BattleMetrics metrics) {
         this.monsters = new ArrayList<>();
+        boolean metered = metrics != null || DecisionEvent.isRecorded();
+        this.decisionMaker = metered ? new MeteredDecisionMaker(decisionMaker, metrics) : decisionMaker;
+        this.terminal = terminal;
+        this.metrics = metrics;
         this.finished = false;
         this.currentSelectingMonsterIndex = 0;
         this.phaseIComplete = false;
         this.selectedActions = new HashMap<>();
         this.selectedTargets = new HashMap<>();
-        
-        Map<String, Integer> nameOccurrences = countNameOccurrences(monsters);
-        Map<String, Integer> nameCounters = new HashMap<>();
-        for (Monster monster : monsters) {
-            String baseName = monster.name();
-            String displayName;
-            if (nameOccurrences.get(baseName) > 1) {
-                int counter = nameCounters.getOrDefault(baseName, 0) + 1;
-                nameCounters.put(baseName, counter);
-                displayName = baseName + "#" + counter;
-            } else {
-                displayName = baseName;
+        this.state = new BattleState(monsters.length);
+
+        int[] baseSymbols = new int[monsters.length];
+        for (int i = 0; i < monsters.length; i++) {
+            baseSymbols[i] = names.intern(monsters[i].name());
+        }
+        int[] occurrences = new int[names.size()];
+        for (int symbol : baseSymbols) {
+            occurrences[symbol]++;
+        }
+
+        int[] counters = new int[occurrences.length];
+        int[] displaySymbols = new int[monsters.length];
+        this.actionSymbols = new int[monsters.length][];
+        for (int i = 0; i < monsters.length; i++) {
+            Monster monster = monsters[i];
+            int baseSymbol = baseSymbols[i];
+            if (occurrences[baseSymbol] > 1) {
+                String displayName = monster.name() + "#" + ++counters[baseSymbol];
+                monster = new Monster(monster.id(), displayName, monster.element(), monster.maxHealth(), monster.baseAttack(),
+                        monster.baseDefense(), monster.baseSpeed(), monster.actions(), monster.symbol());
+            }
+            displaySymbols[i] = names.intern(monster.name());
+            actionSymbols[i] = new int[monster.actions().size()];
+            for (int action = 0; action < actionSymbols[i].length; action++) {
+                actionSymbols[i][action] = names.intern(monster.actions().get(action).name());
             }
-            Monster adjustedMonster = new Monster(monster.id(), displayName, monster.element(), monster.maxHealth(), monster.baseAttack(),
-                    monster.baseDefense(), monster.baseSpeed(), monster.actions());
-            this.monsters.add(new MonsterStatus(adjustedMonster, decisionMaker));
+            this.monsters.add(new MonsterStatus(monster, this.decisionMaker, state, this.monsters.size(), terminal, metrics));
         }
-    }
 
-    private Map<String, Integer> countNameOccurrences(Monster[] monsters) {
-        Map<String, Integer> nameOccurrences = new HashMap<>();
-        for (Monster monster : monsters) {
-            String baseName = monster.name();
-            nameOccurrences.put(baseName, nameOccurrences.getOrDefault(baseName, 0) + 1);
+        this.firstWithName = new int[names.size()];
+        this.nextWithName = new int[monsters.length];
+        Arrays.fill(firstWithName, -1);
+        for (int i = monsters.length - 1; i >= 0; i--) {
+            nextWithName[i] = firstWithName[displaySymbols[i]];
+            firstWithName[displaySymbols[i]] = i;
         }
+        this.initialState = state.copy();
+        this.speedOrder = new SpeedOrder(monsters.length);
+        this.turnOrder = new int[monsters.length];
+        this.sharedSlices = new BattleState.Slice[monsters.length];
+        this.sharedModifications = new int[monsters.length];
+        this.decisionMaker.roundStarted(round);
+    }
 
-        return nameOccurrences;
+    /**
+     * Resets the competition to its initial state, so the same lineup can fight again without creating new monster states. Only bulk
+     * copies the battle state; the decision maker keeps its current state.
+     */
+    public void reset() {
+        state.copyFrom(initialState);
+        finished = false;
+        round = 0;
+        currentSelectingMonsterIndex = 0;
+        phaseIComplete = false;
+        selectedActions.clear();
+        selectedTargets.clear();
+        decisionMaker.roundStarted(round);
+        started = false;
     }
 
     /**
      * Performs one step in the competition.
      */
     public void step() {
+        if (metrics == null) {
+            advance();
+            return;
+        }
+
+        if (!started) {
+            started = true;
+            metrics.battleStarted();
+        }
+        long start = System.nanoTime();
+        advance();
+        metrics.stepped(System.nanoTime() - start);
+    }
+
+    /**
+     * Performs one step in the competition, without recording it, as steps continue each other.
+     */
+    private void advance() {
         // Phase 0
         if (checkIfCompetitionEnded()) {
             return;
@@ -95,72 +196,84 @@ public final class Competition {
      * @return true if the competition has ended, otherwise false.
      */
     private boolean checkIfCompetitionEnded() {
-        int activeMonstersCount = 0;
-        MonsterStatus winner = null;
-
-        // Count active monsters and store the last non-fainted monster
-        for (MonsterStatus m : monsters) {
-            if (!m.isFainted()) {
-                activeMonstersCount++;
-                winner = m; // Keep track of the last active monster
-            }
+        int activeMonstersCount = state.countActive();
+        if (activeMonstersCount >= 2) {
+            return false;
         }
 
-        if (activeMonstersCount < 2) {
-            finished = true;
-            if (activeMonstersCount == 1) {
-                Console.writeMessage(Message.MONSTER_WIN, winner.getMonster().name());
-            } else {
-                Console.writeMessage(Message.MONSTER_DRAW);
-            }
-            return true;
+        if (metrics != null && !finished) {
+            metrics.battleFinished();
         }
-
-        return false;
+        finished = true;
+        if (activeMonstersCount == 1) {
+            terminal.writeMessage(Message.MONSTER_WIN, getWinner().getMonster().name());
+        } else {
+            terminal.writeMessage(Message.MONSTER_DRAW);
+        }
+        return true;
     }
 
     /**
      * Executes the selected actions in order of speed.
      */
     private void executeActions() {
-        List<MonsterStatus> sortedMonsters = getSortedMonstersBySpeed();
+        int turns = takeTurnOrder();
+        RoundEvent event = new RoundEvent(round, turns);
+        event.begin();
 
-        for (MonsterStatus monster : sortedMonsters) {
+        for (int i = 0; i < turns; i++) {
+            MonsterStatus monster = monsters.get(turnOrder[i]);
             if (monster.isFainted()) {
                 continue;
             }
 
-            Console.writeMessage(Message.MONSTERS_TURN, monster.getMonster().name());
+            terminal.writeMessage(Message.MONSTERS_TURN, monster.getMonster().name());
             executeActionForMonster(monster);
         }
         
-        for (MonsterStatus monster : sortedMonsters) {
-            monster.decrementProtectionRounds();
+        for (int i = 0; i < turns; i++) {
+            monsters.get(turnOrder[i]).decrementProtectionRounds();
         }
-        
+
+        event.commit();
+        round++;
+        if (metrics != null) {
+            metrics.roundCompleted();
+        }
+        decisionMaker.roundStarted(round);
         resetForNextRound();
     }
 
     /**
-     * Gets the list of active monsters sorted by speed.
+     * Takes the active monsters sorted by speed into the turn order of this round. Only monsters, whose stat stages or status condition
+     * changed since the last round, are moved in the speed order, unless so many changed that sorting all of them is cheaper.
      *
-     * @return Sorted list of monsters.
+     * @return The number of monsters in the turn order.
      */
-    private List<MonsterStatus> getSortedMonstersBySpeed() {
-        List<MonsterStatus> filteredMonsters = new ArrayList<>();
-
-        // Filter out fainted monsters
-        for (MonsterStatus m : monsters) {
-            if (!m.isFainted()) {
-                filteredMonsters.add(m);
+    private int takeTurnOrder() {
+        int changes = state.countChanged();
+        if (changes > 0) {
+            boolean rebuild = speedOrder.shouldRebuild(changes);
+            for (int i = state.nextChanged(0); i != -1; i = state.nextChanged(i + 1)) {
+                MonsterStatus monster = monsters.get(i);
+                double speed = monster.getStatManager().getEffectiveStat(Stat.SPD);
+                if (rebuild) {
+                    speedOrder.set(i, speed, !monster.isFainted());
+                } else {
+                    speedOrder.update(i, speed, !monster.isFainted());
+                }
+            }
+            if (rebuild) {
+                speedOrder.rebuild();
             }
+            state.clearChanged();
         }
 
-        // Sort in descending order of speed
-        filteredMonsters.sort(
-                (m1, m2) -> Double.compare(m2.getStatManager().getEffectiveStat(Stat.SPD), m1.getStatManager().getEffectiveStat(Stat.SPD)));
-
-        return filteredMonsters;
+        int turns = speedOrder.size();
+        for (int i = 0; i < turns; i++) {
+            turnOrder[i] = speedOrder.get(i);
+        }
+        return turns;
     }
 
     /**
@@ -171,8 +284,15 @@ public final class Competition {
     private void executeActionForMonster(MonsterStatus monster) {
         Action action = selectedActions.get(monster);
         MonsterStatus target = selectedTargets.get(monster);
-        
+
+        if (metrics == null) {
+            monster.performAction(action, target);
+            return;
+        }
+
+        long start = System.nanoTime();
         monster.performAction(action, target);
+        metrics.actionPerformed(action, System.nanoTime() - start);
     }
 
     /**
@@ -184,7 +304,7 @@ public final class Competition {
         currentSelectingMonsterIndex = 0;
         phaseIComplete = false;
         if (!finished) {
-            step();
+            advance();
         }
     }
 
@@ -192,18 +312,17 @@ public final class Competition {
      * Handles the action selection phase.
      */
     private void selectActions() {
-        if (currentSelectingMonsterIndex < monsters.size()) {
+        // Skip fainted monsters in place, so long runs of them do not deepen the stack
+        while (currentSelectingMonsterIndex < monsters.size()) {
             MonsterStatus monster = monsters.get(currentSelectingMonsterIndex);
             if (!monster.isFainted()) {
-                Console.writeMessage(Message.WHAT_ACTION, monster.getMonster().name());
+                terminal.writeMessage(Message.WHAT_ACTION, monster.getMonster().name());
                 return;
             }
             currentSelectingMonsterIndex++;
-            step();
-        } else {
-            phaseIComplete = true;
-            step();
         }
+        phaseIComplete = true;
+        advance();
     }
 
     /**
@@ -215,6 +334,173 @@ public final class Competition {
         return finished;
     }
 
+    /**
+     * Gets the number of rounds, that have been fully executed.
+     *
+     * @return The number of completed rounds.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Gets the terminal all output of the competition goes to.
+     *
+     * @return The terminal.
+     */
+    public Terminal getTerminal() {
+        return terminal;
+    }
+
+    /**
+     * Gets all monsters participating in the competition, in the order they entered it.
+     *
+     * @return Unmodifiable list of the monsters.
+     */
+    public List<MonsterStatus> getMonsters() {
+        return Collections.unmodifiableList(monsters);
+    }
+
+    /**
+     * Gets the index of the monster, that has to select an action next.
+     *
+     * @return The index into {@link #getMonsters()}, or -1 if no selection is pending.
+     */
+    public int getSelectingMonsterIndex() {
+        if (finished || phaseIComplete || currentSelectingMonsterIndex >= monsters.size()) {
+            return -1;
+        }
+        return currentSelectingMonsterIndex;
+    }
+
+    /**
+     * Gets the monster, that has to select an action next.
+     *
+     * @return The selecting monster, or null if no selection is pending.
+     */
+    public MonsterStatus getSelectingMonster() {
+        int index = getSelectingMonsterIndex();
+        return index == -1 ? null : monsters.get(index);
+    }
+
+    /**
+     * Gets all opponents, that the given monster could target.
+     *
+     * @param monster The monster looking for opponents.
+     * @return List of the non-fainted opponents.
+     */
+    public List<MonsterStatus> getOpponents(MonsterStatus monster) {
+        List<MonsterStatus> opponents = new ArrayList<>(state.countActive());
+        for (MonsterStatus m : monsters) {
+            if (m != monster && !m.isFainted()) {
+                opponents.add(m);
+            }
+        }
+        return opponents;
+    }
+
+    /**
+     * Gets the winner of the competition.
+     *
+     * @return The only non-fainted monster, or null if the competition has not ended or ended in a draw.
+     */
+    public MonsterStatus getWinner() {
+        if (!finished) {
+            return null;
+        }
+        for (MonsterStatus m : monsters) {
+            if (!m.isFainted()) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Captures the complete state of the competition: the state of every monster, the selection phase, all selected actions and targets,
+     * the round and whether it has finished. Monsters, that did not change since the last snapshot or restore, share their captured state
+     * with it, so a snapshot costs little more than the state of the monsters that changed. The decision maker is not captured.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        int size = monsters.size();
+        BattleState.Slice[] slices = new BattleState.Slice[size];
+        Action[] actions = new Action[size];
+        int[] targets = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            int modification = state.getModification(i);
+            if (sharedSlices[i] == null || sharedModifications[i] != modification) {
+                sharedSlices[i] = state.slice(i);
+                sharedModifications[i] = modification;
+            }
+            slices[i] = sharedSlices[i];
+
+            MonsterStatus monster = monsters.get(i);
+            MonsterStatus target = selectedTargets.get(monster);
+            actions[i] = selectedActions.get(monster);
+            targets[i] = target == null ? -1 : target.getIndex();
+        }
+
+        return new Snapshot(slices, actions, targets, finished, round, currentSelectingMonsterIndex, phaseIComplete);
+    }
+
+    /**
+     * Restores a snapshot taken from this competition or from one with the same lineup. Only monsters, whose state differs from the
+     * snapshot, are written.
+     *
+     * @param snapshot The snapshot to restore.
+     * @throws IllegalArgumentException If the snapshot belongs to a lineup of another size.
+     */
+    public void restore(Snapshot snapshot) {
+        if (snapshot.slices.length != monsters.size()) {
+            throw new IllegalArgumentException("Expected a snapshot of " + monsters.size() + " monsters, got " + snapshot.slices.length);
+        }
+
+        selectedActions.clear();
+        selectedTargets.clear();
+        for (int i = 0; i < snapshot.slices.length; i++) {
+            if (sharedSlices[i] != snapshot.slices[i] || sharedModifications[i] != state.getModification(i)) {
+                state.restore(i, snapshot.slices[i]);
+                sharedSlices[i] = snapshot.slices[i];
+                sharedModifications[i] = state.getModification(i);
+            }
+
+            MonsterStatus monster = monsters.get(i);
+            if (snapshot.actions[i] != null) {
+                selectedActions.put(monster, snapshot.actions[i]);
+            }
+            if (snapshot.targets[i] != -1) {
+                selectedTargets.put(monster, monsters.get(snapshot.targets[i]));
+            }
+        }
+
+        finished = snapshot.finished;
+        round = snapshot.round;
+        currentSelectingMonsterIndex = snapshot.selectingIndex;
+        phaseIComplete = snapshot.phaseIComplete;
+    }
+
+    /**
+     * Creates an independent competition with the same lineup and the current state of this one, e.g. to explore what-ifs without
+     * touching this competition. The fork writes no output and is not recorded in the {@link BattleMetrics}, but reports to the flight
+     * recorder like any other competition.
+     *
+     * @param decisionMaker The decision maker of the new competition.
+     * @return The new competition.
+     */
+    public Competition fork(DecisionMaker decisionMaker) {
+        Monster[] lineup = new Monster[monsters.size()];
+        for (int i = 0; i < lineup.length; i++) {
+            lineup[i] = monsters.get(i).getMonster();
+        }
+
+        Competition fork = new Competition(lineup, decisionMaker, Terminal.DISCARD, null);
+        fork.restore(snapshot());
+        return fork;
+    }
+
     /**
      * Displays the current status of all monsters.
      */
@@ -235,7 +521,7 @@ public final class Competition {
                     : monster.getMonster().name();
             String status = monster.getStatusConditionManager().getStatusCondition().name();
 
-            Console.writeLine(bar + " " + (i + 1) + " " + name + " (" + status + ")");
+            terminal.writeLine(bar + " " + (i + 1) + " " + name + " (" + status + ")");
         }
     }
 
@@ -247,7 +533,7 @@ public final class Competition {
             return;
         }
         MonsterStatus currentMonster = monsters.get(currentSelectingMonsterIndex);
-        Console.writeMessage(Message.ACTIONS_OF_MONSTER, currentMonster.getMonster().name());
+        terminal.writeMessage(Message.ACTIONS_OF_MONSTER, currentMonster.getMonster().name());
 
         for (Action action : currentMonster.getMonster().actions()) {
             String strengthString = "--";
@@ -286,7 +572,7 @@ public final class Competition {
                 }
             }
 
-            Console.writeMessage(Message.ACTION_DETAIL, action.name(), action.element().name(), strengthString, hitRate);
+            terminal.writeMessage(Message.ACTION_DETAIL, action.name(), action.element().name(), strengthString, hitRate);
         }
     }
 
@@ -302,7 +588,7 @@ public final class Competition {
         String prc = Stat.PRC.formatStat(monster);
         String agl = Stat.AGL.formatStat(monster);
 
-        Console.writeMessage(Message.SHOW_STATS, monster.getMonster().name(), monster.getHealth(), monster.getMonster().maxHealth(), atk,
+        terminal.writeMessage(Message.SHOW_STATS, monster.getMonster().name(), monster.getHealth(), monster.getMonster().maxHealth(), atk,
                 def, spd, prc, agl);
     }
 
@@ -322,6 +608,29 @@ public final class Competition {
         }
     }
 
+    /**
+     * Selects an already resolved action and target for the current monster, without any name lookup. Used by headless action
+     * policies, which pick from {@link #getOpponents(MonsterStatus)} directly.
+     *
+     * @param action The action to be performed, or null to pass.
+     * @param target The target of the action, ignored when passing.
+     */
+    public void select(Action action, MonsterStatus target) {
+        if (currentSelectingMonsterIndex >= monsters.size()) {
+            return;
+        }
+        MonsterStatus currentMonster = monsters.get(currentSelectingMonsterIndex);
+        selectedActions.put(currentMonster, action);
+        if (action != null) {
+            selectedTargets.put(currentMonster, target);
+        }
+
+        currentSelectingMonsterIndex++;
+        if (currentSelectingMonsterIndex >= monsters.size()) {
+            phaseIComplete = true;
+        }
+    }
+
     /**
      * Selects an action and target for the current monster.
      *
@@ -334,52 +643,51 @@ public final class Competition {
         }
         MonsterStatus currentMonster = monsters.get(currentSelectingMonsterIndex);
         Action action = null;
-        for (Action a : currentMonster.getMonster().actions()) {
-            if (a.name().equals(actionName)) {
-                action = a;
+        int actionSymbol = names.lookup(actionName);
+        int[] known = actionSymbols[currentSelectingMonsterIndex];
+        for (int i = 0; i < known.length; i++) {
+            if (known[i] == actionSymbol) {
+                action = currentMonster.getMonster().actions().get(i);
                 break; // Stop searching once we find the first match
             }
         }
         if (action == null) {
-            Console.writeMessage(Message.ERROR_DOES_NOT_KNOW_ACTION, currentMonster.getMonster().name(), actionName);
+            terminal.writeMessage(Message.ERROR_DOES_NOT_KNOW_ACTION, currentMonster.getMonster().name(), actionName);
             return;
         }
 
         selectedActions.put(currentMonster, action);
-        // Determine the target for the action
-        List<MonsterStatus> opponents = new ArrayList<>();
-        for (MonsterStatus m : monsters) {
-            if (m != currentMonster && !m.isFainted()) {
-                opponents.add(m);
-            }
-        }
-        if (opponents.isEmpty()) {
-            Console.writeMessage(Message.ERROR_NOT_VALID_OPPONENT, currentMonster.getMonster().name());
+        // Determine the target for the action from the number of active monsters, without scanning the opponents
+        int opponentCount = state.countActive() - (currentMonster.isFainted() ? 0 : 1);
+        if (opponentCount == 0) {
+            terminal.writeMessage(Message.ERROR_NOT_VALID_OPPONENT, currentMonster.getMonster().name());
 
             selectedActions.put(currentMonster, null); // Invalid action
             currentSelectingMonsterIndex++;
             return;
         }
-        if (opponents.size() == 1) {
-            selectedTargets.put(currentMonster, opponents.get(0));
+        if (opponentCount == 1) {
+            selectedTargets.put(currentMonster, findOnlyOpponent(currentMonster));
         } else if (targetName != null) {
             MonsterStatus target = null;
 
-            // Manually search for the first matching opponent
-            for (MonsterStatus m : opponents) {
-                if (m.getMonster().name().equals(targetName)) {
-                    target = m;
+            // Follow the monsters with that display name to the first opponent
+            int targetSymbol = names.lookup(targetName);
+            int index = targetSymbol == SymbolTable.NONE || targetSymbol >= firstWithName.length ? -1 : firstWithName[targetSymbol];
+            for (; index != -1; index = nextWithName[index]) {
+                if (isOpponent(monsters.get(index), currentMonster)) {
+                    target = monsters.get(index);
                     break; // Stop searching once found
                 }
             }
             if (target == null) {
-                Console.writeMessage(Message.ERROR_NOT_VALID_OPPONENT, targetName);
+                terminal.writeMessage(Message.ERROR_NOT_VALID_OPPONENT, targetName);
                 return;
             }
 
             selectedTargets.put(currentMonster, target);
         } else {
-            Console.writeMessage(Message.ERROR_SPECIFY_TARGET);
+            terminal.writeMessage(Message.ERROR_SPECIFY_TARGET);
             return;
         }
 
@@ -388,4 +696,83 @@ public final class Competition {
             phaseIComplete = true;
         }
     }
-}
\ No newline at end of file
+
+    private MonsterStatus findOnlyOpponent(MonsterStatus of) {
+        for (MonsterStatus m : monsters) {
+            if (isOpponent(m, of)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOpponent(MonsterStatus monster, MonsterStatus of) {
+        return monster != of && !monster.isFainted();
+    }
+
+    /**
+     * Immutable state of a competition, as captured by {@link Competition#snapshot()}. Snapshots are equal if they capture the exact same
+     * state.
+     *
+     * @author uupyx
+     */
+    public static final class Snapshot {
+
+        private final BattleState.Slice[] slices;
+        private final Action[] actions;
+        private final int[] targets;
+        private final boolean finished;
+        private final int round;
+        private final int selectingIndex;
+        private final boolean phaseIComplete;
+
+        private Snapshot(BattleState.Slice[] slices, Action[] actions, int[] targets, boolean finished, int round, int selectingIndex,
+                boolean phaseIComplete) {
+            this.slices = slices;
+            this.actions = actions;
+            this.targets = targets;
+            this.finished = finished;
+            this.round = round;
+            this.selectingIndex = selectingIndex;
+            this.phaseIComplete = phaseIComplete;
+        }
+
+        /**
+         * Gets the number of rounds, that had been fully executed when the snapshot was taken.
+         *
+         * @return The number of completed rounds.
+         */
+        public int getRound() {
+            return round;
+        }
+
+        /**
+         * Checks whether the competition had finished when the snapshot was taken.
+         *
+         * @return True if it had finished, false otherwise.
+         */
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            return obj instanceof Snapshot other && finished == other.finished && round == other.round
+                    && selectingIndex == other.selectingIndex && phaseIComplete == other.phaseIComplete
+                    && Arrays.equals(slices, other.slices) && Arrays.equals(actions, other.actions)
+                    && Arrays.equals(targets, other.targets);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Arrays.hashCode(slices);
+            hash = 31 * hash + Arrays.hashCode(targets);
+            hash = 31 * hash + round;
+            hash = 31 * hash + selectingIndex;
+            return 31 * hash + (finished ? 1 : 0);
+        }
+    }
+}
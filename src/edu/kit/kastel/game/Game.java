@@ -1,19 +1,33 @@
 package edu.kit.kastel.game;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import javax.management.JMException;
+
 import edu.kit.kastel.config.Config;
-import edu.kit.kastel.config.Lexer;
-import edu.kit.kastel.config.Parser;
+import edu.kit.kastel.config.ConfigLoader;
+import edu.kit.kastel.config.IncrementalParser;
 import edu.kit.kastel.config.PositionException;
 import edu.kit.kastel.game.console.CommandManager;
 import edu.kit.kastel.game.console.Console;
+import edu.kit.kastel.game.console.EndOfInputException;
 import edu.kit.kastel.game.console.Message;
+import edu.kit.kastel.game.console.OutputMode;
 import edu.kit.kastel.game.decision.DebugDecisionMaker;
+import edu.kit.kastel.game.decision.DecisionLog;
 import edu.kit.kastel.game.decision.DecisionMaker;
 import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.decision.RecordingDecisionMaker;
+import edu.kit.kastel.game.decision.ReplayDecisionMaker;
+import edu.kit.kastel.game.decision.ReplayDivergedException;
+import edu.kit.kastel.game.engine.Simulation;
+import edu.kit.kastel.game.metrics.BattleMetrics;
 import edu.kit.kastel.game.model.Monster;
 
 /**
@@ -23,8 +37,18 @@ import edu.kit.kastel.game.model.Monster;
  */
 public final class Game {
 
+    /** System property selecting the {@link OutputMode} of the console, case-insensitive. */
+    public static final String OUTPUT_MODE_PROPERTY = "game.output";
+
+    /** System property naming a file, that all random decisions of the session are recorded to. */
+    public static final String RECORD_PROPERTY = "game.record";
+
+    /** System property naming a recorded decision file, that is replayed instead of making random decisions. */
+    public static final String REPLAY_PROPERTY = "game.replay";
+
     private final CommandManager commandManager;
     private final DecisionMaker decisionMaker;
+    private final IncrementalParser parser = new IncrementalParser();
 
     private Config config;
     private Competition competition;
@@ -39,26 +63,52 @@ public final class Game {
      * @param debug If true, enables debug mode with deterministic decision-making
      */
     public Game(String configPath, Long seed, boolean debug) {
+        this(configPath, debug ? new DebugDecisionMaker(Console.terminal())
+                : new RandomDecisionMaker(seed != null ? seed : System.currentTimeMillis()));
+    }
+
+    /**
+     * Initializes the game with the given configuration file and decision maker.
+     *
+     * @param configPath Path to the configuration file
+     * @param decisionMaker The decision maker for all random decisions
+     */
+    public Game(String configPath, DecisionMaker decisionMaker) {
         this.commandManager = new CommandManager();
-        this.decisionMaker = debug ? new DebugDecisionMaker() : new RandomDecisionMaker(seed != null ? seed : System.currentTimeMillis());
+        this.decisionMaker = decisionMaker;
         
         loadConfig(configPath, true); // True, because in the beginning, it will output everything
         
         registerCommands();
+        commandManager.register(CommandManager.fixedCount("load", 1), args -> {
+            loadConfig(args[0], true);
+        });
     }
 
     /**
-     * Registers all available commands for the game.
+     * Initializes a game with an already loaded configuration, that is not echoed. The game has no {@code load} command, so the
+     * configuration is never replaced and games running concurrently, e.g. sessions of a {@link GameServer}, may share it, without their
+     * clients being able to read files of the host.
+     *
+     * @param config The configuration.
+     * @param decisionMaker The decision maker for all random decisions
+     */
+    Game(Config config, DecisionMaker decisionMaker) {
+        this.commandManager = new CommandManager();
+        this.decisionMaker = decisionMaker;
+        this.config = config;
+
+        registerCommands();
+    }
+
+    /**
+     * Registers all commands for the game, except for {@code load}, that only games reading their own configuration file offer.
      */
     private void registerCommands() {
         commandManager.register(CommandManager.fixed("quit"), args -> {
             stop();
         });
 
-        commandManager.register(CommandManager.fixedCount("load", 1), args -> {
-            loadConfig(args[0], true);
-        });
-
         commandManager.register(CommandManager.fixed("show"), args -> {
             if (competition != null) {
                 competition.show();
@@ -121,7 +171,7 @@ public final class Game {
         for (int i = 0; i < args.length; i++) {
             String monsterName = args[i];
 
-            Monster monster = config.monsters().get(monsterName);
+            Monster monster = config.monster(config.symbols().lookup(monsterName));
             if (monster == null) {
                 Console.writeMessage(Message.ERROR_MONSTER_EXIST, monsterName);
                 return;
@@ -141,29 +191,12 @@ public final class Game {
      * @param verbatim If true, prints the loaded configuration
      */
     private void loadConfig(String path, boolean verbatim) {
-        String content = null;
-
-        try {
-            content = Files.readString(Path.of(path));
+        Config config;
+        try { // Reparses only the blocks, that changed since the last load
+            config = ConfigLoader.load(path, parser::parse, verbatim ? Game::echo : null);
         } catch (IOException e) {
             Console.writeMessage(Message.ERROR_CONFIG);
             return;
-        }
-
-        if (verbatim) {
-            Console.writeVerbatim(content); // Verbatim output
-            if (content.charAt(content.length() - 1) != '\n') {
-                Console.writeLine("");
-            }
-        }
-        
-        Config config = null;
-        
-        Lexer lexer = new Lexer(content);
-        Parser parser = null;
-        try {         
-            parser = new Parser(lexer.tokenize());
-            config = parser.parse();
         } catch (PositionException e) {
             Console.writeMessage(Message.ERROR, e.getMessage());
             return;
@@ -176,6 +209,13 @@ public final class Game {
         Console.writeMessage(Message.CONFIG_LOADED, config.actions().size(), config.monsters().size());
     }
 
+    private static void echo(Path path) throws IOException {
+        int last = Console.writeFile(path); // Verbatim output
+        if (last != -1 && last != '\n') {
+            Console.writeLine("");
+        }
+    }
+
     /**
      * Starts the game loop, processing commands and handling the competition.
      */
@@ -187,12 +227,17 @@ public final class Game {
         running = true;
 
         while (running) {
-
-            if (competition != null && !competition.isFinished()) {
-                competition.step();
+            try {
+                if (competition != null && !competition.isFinished()) {
+                    competition.step();
+                }
+
+                if (!commandManager.parse()) {
+                    stop(); // The input has ended, e.g. a client of the server disconnected
+                }
+            } catch (EndOfInputException e) {
+                stop(); // The input ended while a debug decision was pending
             }
-
-            commandManager.parse();
         }
     }
 
@@ -210,10 +255,32 @@ public final class Game {
     /**
      * Main entry point for the game.
      *
-     * @param args Command-line arguments: config path, optional seed, or debug mode
+     * @param args Command-line arguments: config path, optional seed, or debug mode. Alternatively {@code simulate}, {@code tournament} or
+     *        {@code serve} followed by the arguments of {@link Simulation#run(String[])}, {@link Simulation#runTournament(String[])} or
+     *        {@link GameServer#run(String[])}.
      */
     public static void main(String[] args) {
         Console.initialize();
+        Console.setOutputMode(outputMode());
+        try {
+            BattleMetrics.register();
+        } catch (JMException e) {
+            Console.writeMessage(Message.ERROR, e.getMessage());
+        }
+
+        if (args.length > 0 && args[0].equals(Simulation.MODE)) {
+            Simulation.run(args);
+            Console.terminate();
+            return;
+        } else if (args.length > 0 && args[0].equals(Simulation.TOURNAMENT_MODE)) {
+            Simulation.runTournament(args);
+            Console.terminate();
+            return;
+        } else if (args.length > 0 && args[0].equals(GameServer.MODE)) {
+            GameServer.run(args);
+            Console.terminate();
+            return;
+        }
 
         if (args.length < 1) {
             Console.writeMessage(Message.ERROR_MISSING_CONFIG);
@@ -228,10 +295,58 @@ public final class Game {
         Long seed = args.length > 1 && !args[1].equals("debug") ? Long.parseLong(args[1]) : null;
         boolean debug = args.length > 1 && args[1].equals("debug");
 
-        Game game = new Game(args[0], seed, debug);
-        game.start();
+        DecisionMaker decisionMaker = debug ? new DebugDecisionMaker(Console.terminal())
+                : new RandomDecisionMaker(seed != null ? seed : System.currentTimeMillis());
+        String replayPath = System.getProperty(REPLAY_PROPERTY);
+        if (replayPath != null) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(replayPath)))) {
+                decisionMaker = new ReplayDecisionMaker(DecisionLog.readFrom(in));
+            } catch (IOException e) {
+                Console.writeMessage(Message.ERROR_DECISION_LOG, replayPath);
+                Console.terminate();
+                return;
+            }
+        }
+        String recordPath = System.getProperty(RECORD_PROPERTY);
+        RecordingDecisionMaker recorder = recordPath != null ? new RecordingDecisionMaker(decisionMaker) : null;
+
+        Game game = new Game(args[0], recorder != null ? recorder : decisionMaker);
+        try {
+            game.start();
+        } catch (ReplayDivergedException e) {
+            Console.writeMessage(Message.ERROR, e.getMessage());
+        } finally {
+            if (recorder != null) {
+                writeDecisionLog(recorder.toLog(), recordPath);
+            }
+            Console.terminate();
+        }
+    }
 
-        Console.terminate();
+    private static void writeDecisionLog(DecisionLog log, String path) {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(path)))) {
+            log.writeTo(out);
+        } catch (IOException e) {
+            Console.writeMessage(Message.ERROR_DECISION_LOG, path);
+        }
+    }
+
+    /**
+     * Determines the output mode of the console. Unless the system property {@value #OUTPUT_MODE_PROPERTY} selects one, output is
+     * flushed line by line on a terminal and buffered until the next input otherwise, e.g. when it is piped.
+     *
+     * @return The output mode.
+     */
+    private static OutputMode outputMode() {
+        String value = System.getProperty(OUTPUT_MODE_PROPERTY);
+        if (value != null) {
+            for (OutputMode mode : OutputMode.values()) {
+                if (mode.name().equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+        }
+        return System.console() == null ? OutputMode.BUFFERED : OutputMode.LINE;
     }
 
 }
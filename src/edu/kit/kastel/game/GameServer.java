@@ -0,0 +1,198 @@
+package edu.kit.kastel.game;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.game.console.Console;
+import edu.kit.kastel.game.console.Message;
+import edu.kit.kastel.game.decision.DebugDecisionMaker;
+import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.engine.Simulation;
+
+/**
+ * Server mode, that runs one game session per client connected to a local socket. Every session has its own {@link Game}, with its own
+ * commands, competition and decision maker, and its own {@link Console}, that is bound to the thread of the session. All sessions share
+ * one configuration, that is loaded once when the server starts.
+ * <p>
+ * Sessions run on virtual threads if the runtime supports them, and on one platform thread each otherwise.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class GameServer implements AutoCloseable {
+
+    /** Name of the command line mode running the server. */
+    public static final String MODE = "serve";
+
+    private static final int ARGUMENT_COUNT = 4;
+
+    private final Config config;
+    private final IntFunction<DecisionMaker> decisionMakers;
+    private final ServerSocketChannel channel;
+    private final SocketAddress address;
+    private final ThreadFactory threads = sessionThreads();
+    private final AtomicInteger sessions = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a server and binds it to a local address.
+     *
+     * @param config The configuration shared by all sessions.
+     * @param address The address, either a TCP port on the loopback interface or the path of a Unix domain socket.
+     * @param decisionMakers Creates the decision maker of a session from the number of the session, starting at 0.
+     * @throws IOException If the address cannot be bound.
+     */
+    public GameServer(Config config, SocketAddress address, IntFunction<DecisionMaker> decisionMakers) throws IOException {
+        this.config = config;
+        this.decisionMakers = decisionMakers;
+        this.address = address;
+        this.channel = address instanceof UnixDomainSocketAddress ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        try {
+            channel.bind(address);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Accepts clients and starts their sessions until the server is closed. Clients, that cannot be accepted, are reported on the console
+     * of the server.
+     */
+    public void serve() {
+        while (!closed) {
+            SocketChannel client;
+            try {
+                client = channel.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    report(Message.ERROR_ACCEPT, e.getMessage());
+                }
+                continue;
+            }
+
+            int session = sessions.getAndIncrement();
+            threads.newThread(() -> runSession(client, session)).start();
+        }
+    }
+
+    private void runSession(SocketChannel client, int session) {
+        try (client; Console console = Console.open(Channels.newInputStream(client), Channels.newOutputStream(client))) {
+            console.runSession(() -> {
+                Game game = new Game(config, decisionMakers.apply(session));
+                Console.writeMessage(Message.CONFIG_LOADED, config.actions().size(), config.monsters().size());
+                game.start();
+            });
+        } catch (IOException e) {
+            // The client disconnected, nothing left to clean up
+        } catch (RuntimeException e) {
+            report(Message.ERROR_SESSION, session, e.toString()); // Only this session ends
+        }
+    }
+
+    // Sessions report on the console of the server from their own threads, after their session console was unbound
+    private static synchronized void report(Message message, Object... args) {
+        Console.writeMessage(message, args);
+        Console.flush();
+    }
+
+    /**
+     * Stops accepting clients. Sessions, that are still running, end with the process, as their threads are daemon threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            channel.close();
+            if (address instanceof UnixDomainSocketAddress unix) {
+                Files.deleteIfExists(unix.getPath());
+            }
+        } catch (IOException e) {
+            // Handle if needed, outside the control of the programmer
+        }
+    }
+
+    /**
+     * Runs the server mode until the process is terminated.
+     *
+     * @param args Command-line arguments: {@code serve <config> <address> <seed|debug>}. The address is a TCP port on the loopback
+     *        interface or the path of a Unix domain socket. With a seed, the session with number n decides with the seed plus n.
+     */
+    public static void run(String[] args) {
+        if (args.length != ARGUMENT_COUNT) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        boolean debug = args[3].equals("debug");
+        long seed;
+        try {
+            seed = debug ? 0 : Long.parseLong(args[3]);
+        } catch (NumberFormatException e) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        Config config = Simulation.loadConfig(args[1]);
+        if (config == null) {
+            return;
+        }
+
+        // Created on the thread of the session, so a debug decision maker asks the client of the session
+        IntFunction<DecisionMaker> decisionMakers = debug ? session -> new DebugDecisionMaker(Console.terminal())
+                : session -> new RandomDecisionMaker(seed + session);
+        try (GameServer server = new GameServer(config, address(args[2]), decisionMakers)) {
+            Console.writeMessage(Message.SERVER_LISTENING, args[2]);
+            Console.flush();
+            server.serve();
+        } catch (IOException | IllegalArgumentException e) {
+            Console.writeMessage(Message.ERROR_SERVER, args[2]);
+        }
+    }
+
+    private static SocketAddress address(String address) {
+        for (int i = 0; i < address.length(); i++) {
+            if (!Character.isDigit(address.charAt(i))) {
+                return UnixDomainSocketAddress.of(Path.of(address));
+            }
+        }
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+    }
+
+    /**
+     * Creates the threads of the sessions. Virtual threads are only available from Java 21 on, so they are looked up reflectively while
+     * the game is built for Java 17.
+     *
+     * @return A factory for virtual threads if available, otherwise for daemon platform threads.
+     */
+    private static ThreadFactory sessionThreads() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger created = new AtomicInteger();
+            return task -> {
+                Thread thread = new Thread(task, "session-" + created.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
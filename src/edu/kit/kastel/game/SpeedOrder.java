@@ -0,0 +1,159 @@
+package edu.kit.kastel.game;
+
+/**
+ * The non-fainted combatants of a competition in the order they act: descending by effective speed, and in lineup order among equally
+ * fast combatants. Combatants are moved one at a time when their speed or fainting changes, so keeping the order costs a binary search and
+ * an array move per change instead of sorting the whole lineup every round.
+ *
+ * @author uupyx
+ */
+final class SpeedOrder {
+
+    // Above this share of changed combatants, sorting all of them is cheaper than moving them one by one
+    private static final int REBUILD_DIVISOR = 8;
+
+    private final int[] order;
+    private final double[] speeds;
+    private final boolean[] contained;
+    private final int[] scratch;
+    private int size;
+
+    /**
+     * Creates an empty order for a lineup.
+     *
+     * @param capacity The number of combatants in the lineup.
+     */
+    SpeedOrder(int capacity) {
+        this.order = new int[capacity];
+        this.speeds = new double[capacity];
+        this.contained = new boolean[capacity];
+        this.scratch = new int[capacity];
+    }
+
+    /**
+     * Gets the number of ordered combatants.
+     *
+     * @return The number of combatants.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the combatant acting at a position.
+     *
+     * @param position The position, 0 acts first.
+     * @return The index of the combatant in the lineup.
+     */
+    int get(int position) {
+        return order[position];
+    }
+
+    /**
+     * Checks if it is cheaper to {@link #rebuild()} than to {@link #update} the given number of combatants.
+     *
+     * @param changes The number of changed combatants.
+     * @return True if the order should be rebuilt.
+     */
+    boolean shouldRebuild(int changes) {
+        return changes > order.length / REBUILD_DIVISOR;
+    }
+
+    /**
+     * Moves a combatant to the position of its new speed.
+     *
+     * @param index The index of the combatant in the lineup.
+     * @param speed The effective speed of the combatant.
+     * @param active False if the combatant fainted and no longer acts.
+     */
+    void update(int index, double speed, boolean active) {
+        if (contained[index]) {
+            int position = find(speeds[index], index);
+            System.arraycopy(order, position + 1, order, position, size - position - 1);
+            size--;
+        }
+
+        speeds[index] = speed;
+        contained[index] = active;
+        if (active) {
+            int position = find(speed, index);
+            System.arraycopy(order, position, order, position + 1, size - position);
+            order[position] = index;
+            size++;
+        }
+    }
+
+    /**
+     * Sets the speed of a combatant without moving it. The order is only valid again after the next {@link #rebuild()}.
+     *
+     * @param index The index of the combatant in the lineup.
+     * @param speed The effective speed of the combatant.
+     * @param active False if the combatant fainted and no longer acts.
+     */
+    void set(int index, double speed, boolean active) {
+        speeds[index] = speed;
+        contained[index] = active;
+    }
+
+    /**
+     * Orders all active combatants anew by the speeds set last. Sorts the indices with a bottom-up merge sort, that only uses the arrays of
+     * the order, so rebuilding allocates nothing.
+     */
+    void rebuild() {
+        int count = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (contained[i]) {
+                order[count++] = i;
+            }
+        }
+        size = count;
+
+        int[] from = order;
+        int[] to = scratch;
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count; low += 2 * width) {
+                merge(from, to, low, Math.min(low + width, count), Math.min(low + 2 * width, count));
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != order) {
+            System.arraycopy(from, 0, order, 0, count);
+        }
+    }
+
+    private void merge(int[] from, int[] to, int low, int middle, int high) {
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+            if (left < middle && (right >= high || compare(from[left], from[right]) <= 0)) {
+                to[i] = from[left++];
+            } else {
+                to[i] = from[right++];
+            }
+        }
+    }
+
+    // The first position, whose combatant does not act before the given one
+    private int find(double speed, int index) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int other = order[middle];
+            int comparison = Double.compare(speeds[other], speed);
+            if (comparison > 0 || comparison == 0 && other < index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int first, int second) {
+        int comparison = Double.compare(speeds[second], speeds[first]);
+        return comparison != 0 ? comparison : Integer.compare(first, second);
+    }
+}
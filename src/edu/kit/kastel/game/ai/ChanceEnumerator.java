@@ -0,0 +1,153 @@
+package edu.kit.kastel.game.ai;
+
+import java.util.Arrays;
+
+import edu.kit.kastel.game.decision.DecisionMaker;
+
+/**
+ * Decision maker, that enumerates the outcomes of all random decisions of a step, one run per outcome. Every run follows a script of branch
+ * indices for the first decisions and takes the first branch of every later one, while recording the branches it could have taken. The
+ * recorded alternatives of a run are the scripts of further runs, so running every script exactly once visits every outcome.
+ * <p>
+ * Yes/no decisions have two branches, the more likely one first, and integer decisions one branch per value. Double decisions are
+ * continuous, so they are represented by {@value #DOUBLE_POINTS} equally likely points at the centers of equally wide parts of the range.
+ * </p>
+ *
+ * @author uupyx
+ */
+final class ChanceEnumerator implements DecisionMaker {
+
+    /** Number of points a double decision is split into. */
+    static final int DOUBLE_POINTS = 3;
+
+    private int[] script = new int[16];
+    private int scriptLength;
+    private int position;
+
+    private int[] chosen = new int[16];
+    private int[] counts = new int[16];
+    private double[] probabilities = new double[16];
+    private double[] otherProbabilities = new double[16];
+
+    /**
+     * Prepares the next run.
+     *
+     * @param prefix The branch indices of the first decisions.
+     * @param length The number of scripted decisions.
+     */
+    void start(int[] prefix, int length) {
+        if (script.length < length) {
+            script = Arrays.copyOf(prefix, length);
+        } else {
+            System.arraycopy(prefix, 0, script, 0, length);
+        }
+        scriptLength = length;
+        position = 0;
+    }
+
+    /**
+     * Gets the number of decisions made in the current run.
+     *
+     * @return The number of decisions.
+     */
+    int length() {
+        return position;
+    }
+
+    /**
+     * Gets the number of decisions, that were given by the script of the current run.
+     *
+     * @return The number of scripted decisions.
+     */
+    int scriptLength() {
+        return scriptLength;
+    }
+
+    /**
+     * Gets the branch taken by a decision of the current run.
+     *
+     * @param decision The index of the decision.
+     * @return The branch index.
+     */
+    int chosen(int decision) {
+        return chosen[decision];
+    }
+
+    /**
+     * Gets the number of branches of a decision of the current run.
+     *
+     * @param decision The index of the decision.
+     * @return The number of branches.
+     */
+    int count(int decision) {
+        return counts[decision];
+    }
+
+    /**
+     * Gets the probability of the branch taken by a decision of the current run.
+     *
+     * @param decision The index of the decision.
+     * @return The probability between 0 and 1.
+     */
+    double probability(int decision) {
+        return probabilities[decision];
+    }
+
+    /**
+     * Gets the probability of every branch but the first of a decision of the current run.
+     *
+     * @param decision The index of the decision.
+     * @return The probability between 0 and 1.
+     */
+    double otherProbability(int decision) {
+        return otherProbabilities[decision];
+    }
+
+    @Override
+    public boolean decideYesNo(double probability, String context) {
+        double yes = Math.min(1, Math.max(0, probability / 100));
+        if (yes == 0 || yes == 1) {
+            record(0, 1, 1, 0);
+            return yes == 1;
+        }
+
+        double likely = Math.max(yes, 1 - yes);
+        int branch = next();
+        record(branch, 2, branch == 0 ? likely : 1 - likely, 1 - likely);
+        return (branch == 0) == (yes >= 0.5);
+    }
+
+    @Override
+    public double decideDouble(double min, double max, String context) {
+        int branch = next();
+        record(branch, DOUBLE_POINTS, 1d / DOUBLE_POINTS, 1d / DOUBLE_POINTS);
+        return min + (max - min) * (branch + 0.5) / DOUBLE_POINTS;
+    }
+
+    @Override
+    public int decideInt(int min, int max, String context) {
+        int count = max - min + 1;
+        int branch = next();
+        record(branch, count, 1d / count, 1d / count);
+        return min + branch;
+    }
+
+    private int next() {
+        return position < scriptLength ? script[position] : 0;
+    }
+
+    private void record(int branch, int count, double probability, double otherProbability) {
+        if (position == chosen.length) {
+            int length = position * 2;
+            chosen = Arrays.copyOf(chosen, length);
+            counts = Arrays.copyOf(counts, length);
+            probabilities = Arrays.copyOf(probabilities, length);
+            otherProbabilities = Arrays.copyOf(otherProbabilities, length);
+        }
+        chosen[position] = branch;
+        counts[position] = count;
+        probabilities[position] = probability;
+        otherProbabilities[position] = otherProbability;
+        position++;
+    }
+}
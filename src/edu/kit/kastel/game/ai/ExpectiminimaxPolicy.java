@@ -0,0 +1,270 @@
+package edu.kit.kastel.game.ai;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.engine.ActionPolicy;
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+
+/**
+ * Action policy for 1v1 competitions, that searches a fixed number of rounds ahead with expectiminimax. The searching monster maximizes its
+ * value, its opponent minimizes it, and the random events of every round are enumerated by a {@link ChanceEnumerator} and weighted by their
+ * probabilities. Outcomes less likely than {@value #MIN_PROBABILITY} are not explored.
+ * <p>
+ * The values of searched rounds are kept in a {@link TranspositionTable} keyed by a {@link ZobristHash} of the state at the start of the
+ * round, which buckets health, so nearly equal states share their value. Outcomes of a round, that lead to exactly the same state, are
+ * merged before they are searched, and states reached by different orders of actions are looked up instead of searched again. The table
+ * is kept across decisions. Won battles are worth 1, drawn ones 0.5 and lost ones 0, undecided ones are valued by the share of relative
+ * health left.
+ * </p>
+ * <p>
+ * The decision maker of the real competition is never used and the searched fork writes no output. A policy must not be used by
+ * several threads at once.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class ExpectiminimaxPolicy implements ActionPolicy {
+
+    /** Default number of rounds searched ahead. */
+    public static final int DEFAULT_DEPTH = 2;
+
+    /** Default binary logarithm of the number of transposition table entries. */
+    public static final int DEFAULT_TABLE_BITS = 20;
+
+    /** Probability below which outcomes of random events are not explored. */
+    public static final double MIN_PROBABILITY = 1e-3;
+
+    private static final int COMBATANTS = 2;
+    private static final double DRAW = 0.5;
+
+    private final int depth;
+    private final TranspositionTable table;
+    private final ChanceEnumerator enumerator = new ChanceEnumerator();
+    private Competition fork;
+    private int perspective;
+
+    /**
+     * Creates a policy with the default depth and table size.
+     */
+    public ExpectiminimaxPolicy() {
+        this(DEFAULT_DEPTH, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Creates a policy.
+     *
+     * @param depth The number of rounds searched ahead.
+     * @param tableBits The binary logarithm of the number of transposition table entries.
+     * @throws IllegalArgumentException If the depth is not positive or the table size is out of range.
+     */
+    public ExpectiminimaxPolicy(int depth, int tableBits) {
+        if (depth < 1 || depth > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Expected a depth between 1 and " + Byte.MAX_VALUE + ", got " + depth);
+        }
+
+        this.depth = depth;
+        this.table = new TranspositionTable(tableBits);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException If the competition does not have exactly two monsters.
+     */
+    @Override
+    public Choice choose(Competition competition, MonsterStatus monster, DecisionMaker decisionMaker) {
+        if (competition.getMonsters().size() != COMBATANTS) {
+            throw new IllegalArgumentException("Expectiminimax needs a 1v1 competition, got " + competition.getMonsters().size() + " monsters");
+        }
+
+        List<Action> actions = monster.getMonster().actions();
+        List<MonsterStatus> opponents = competition.getOpponents(monster);
+        if (actions.isEmpty() || opponents.isEmpty()) {
+            return Choice.PASS;
+        } else if (actions.size() == 1) {
+            return new Choice(actions.get(0), opponents.get(0));
+        }
+
+        try {
+            fork = competition.fork(enumerator);
+            perspective = monster.getIndex();
+            table.nextAge();
+
+            Competition.Snapshot root = fork.snapshot();
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int action = 0; action < actions.size(); action++) {
+                fork.restore(root);
+                double value = afterSelection(action, bestValue, 1, depth);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = action;
+                }
+            }
+            return new Choice(actions.get(best), opponents.get(0));
+        } finally {
+            fork = null;
+        }
+    }
+
+    /**
+     * Gets the value of the state at the start of a round.
+     *
+     * @param remaining The number of rounds left to search, at least 1.
+     * @return The value for the searching monster.
+     */
+    private double round(int remaining) {
+        long key = ZobristHash.hash(fork.getMonsters(), perspective);
+        double value = table.probe(key, remaining);
+        if (Double.isNaN(value)) {
+            value = selection(remaining, 0, 1);
+            table.store(key, remaining, value);
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value of a state, in which a monster has to select its action. Bounds from the selections earlier in the same round let
+     * selections, that cannot change the result, be skipped.
+     *
+     * @param remaining The number of rounds left to search, including this one.
+     * @param alpha The value the searching monster is already guaranteed.
+     * @param beta The value the opponent is already guaranteed.
+     * @return The value for the searching monster.
+     */
+    private double selection(int remaining, double alpha, double beta) {
+        MonsterStatus monster = fork.getSelectingMonster();
+        boolean maximizing = monster.getIndex() == perspective;
+        int actions = monster.getMonster().actions().size();
+        if (actions == 0) {
+            fork.select(null, null);
+            return afterSelected(remaining, alpha, beta);
+        }
+
+        Competition.Snapshot snapshot = fork.snapshot();
+        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (int action = 0; action < actions; action++) {
+            fork.restore(snapshot);
+            if (maximizing) {
+                best = Math.max(best, afterSelection(action, Math.max(alpha, best), beta, remaining));
+                if (best >= beta) {
+                    break;
+                }
+            } else {
+                best = Math.min(best, afterSelection(action, alpha, Math.min(beta, best), remaining));
+                if (best <= alpha) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private double afterSelection(int action, double alpha, double beta, int remaining) {
+        MonsterStatus monster = fork.getSelectingMonster();
+        fork.select(monster.getMonster().actions().get(action), fork.getOpponents(monster).get(0));
+        return afterSelected(remaining, alpha, beta);
+    }
+
+    private double afterSelected(int remaining, double alpha, double beta) {
+        if (fork.getSelectingMonsterIndex() != -1) {
+            fork.step(); // Asks the next monster without any random event
+            return selection(remaining, alpha, beta);
+        }
+        return chance(remaining);
+    }
+
+    /**
+     * Gets the expected value of executing the selected actions, by enumerating all outcomes of the random events of the round.
+     *
+     * @param remaining The number of rounds left to search, including this one.
+     * @return The expected value for the searching monster.
+     */
+    private double chance(int remaining) {
+        Competition.Snapshot selected = fork.snapshot();
+        Map<Competition.Snapshot, Outcome> outcomes = new HashMap<>();
+        List<Outcome> order = new ArrayList<>();
+        List<int[]> scripts = new ArrayList<>();
+        scripts.add(new int[0]);
+
+        while (!scripts.isEmpty()) {
+            int[] script = scripts.remove(scripts.size() - 1);
+            fork.restore(selected);
+            enumerator.start(script, script.length);
+            fork.step();
+
+            double probability = 1;
+            for (int decision = 0; decision < enumerator.length(); decision++) {
+                if (decision >= enumerator.scriptLength()) {
+                    addAlternatives(scripts, decision, probability);
+                }
+                probability *= enumerator.probability(decision);
+            }
+
+            // Merged by the exact state, as the bucketed hash would merge outcomes with different health
+            Competition.Snapshot snapshot = fork.snapshot();
+            Outcome outcome = outcomes.get(snapshot);
+            if (outcome == null) {
+                outcome = new Outcome(snapshot);
+                outcomes.put(snapshot, outcome);
+                order.add(outcome);
+            }
+            outcome.probability += probability;
+        }
+
+        double total = 0;
+        double value = 0;
+        for (Outcome outcome : order) {
+            fork.restore(outcome.snapshot);
+            total += outcome.probability;
+            value += outcome.probability * (fork.isFinished() || remaining == 1 ? evaluate() : round(remaining - 1));
+        }
+        return value / total;
+    }
+
+    private void addAlternatives(List<int[]> scripts, int decision, double probability) {
+        if (probability * enumerator.otherProbability(decision) < MIN_PROBABILITY) {
+            return;
+        }
+        for (int branch = 1; branch < enumerator.count(decision); branch++) {
+            int[] script = new int[decision + 1];
+            for (int i = 0; i < decision; i++) {
+                script[i] = enumerator.chosen(i);
+            }
+            script[decision] = branch;
+            scripts.add(script);
+        }
+    }
+
+    private double evaluate() {
+        MonsterStatus self = fork.getMonsters().get(perspective);
+        MonsterStatus opponent = fork.getMonsters().get(1 - perspective);
+        if (fork.isFinished()) {
+            MonsterStatus winner = fork.getWinner();
+            return winner == null ? DRAW : winner == self ? 1 : 0;
+        }
+
+        double own = (double) self.getHealth() / self.getMonster().maxHealth();
+        double other = (double) opponent.getHealth() / opponent.getMonster().maxHealth();
+        return own + other == 0 ? DRAW : own / (own + other);
+    }
+
+    /**
+     * Outcomes of a round, that lead to exactly the same state.
+     */
+    private static final class Outcome {
+
+        private final Competition.Snapshot snapshot;
+        private double probability;
+
+        Outcome(Competition.Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package edu.kit.kastel.game.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker.Algorithm;
+import edu.kit.kastel.game.engine.ActionPolicy;
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+
+/**
+ * Action policy, that searches for the best action and target with Monte Carlo tree search over forks of the competition.
+ * <p>
+ * The tree branches over the selections of all monsters in selection order, so the opponents' answers are searched as well. Random events
+ * are not part of the tree: every iteration replays the selections of its path on a restored snapshot, and the hits, critical hits, damage
+ * variance, repeat counts and status endings in between are decided by a random decision maker with the probabilities of the game. Below
+ * the tree the battle is played out with random selections up to a horizon. Won battles are worth 1 to the winner, undecided ones are
+ * valued by the share of relative health left.
+ * </p>
+ * <p>
+ * Several workers search the same tree, each on its own fork of the competition and with its own random stream. Virtual losses keep them
+ * from all descending the same path. The decision maker of the real competition is never used, so searching does not change the course of
+ * the battle. The forks write no output, so searching is silent and concurrent searches do not interfere.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class MctsPolicy implements ActionPolicy, AutoCloseable {
+
+    /** Default time budget of a decision in milliseconds. */
+    public static final long DEFAULT_TIME_MILLIS = 50;
+
+    /** Default number of rounds simulated beyond the current one. */
+    public static final int DEFAULT_HORIZON = 30;
+
+    /** Default exploration constant of the upper confidence bound. */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    private final SearchBudget budget;
+    private final int workers;
+    private final long seed;
+    private final int horizon;
+    private final double exploration;
+    private final ExecutorService executor;
+    private final AtomicLong searches = new AtomicLong();
+
+    /**
+     * Creates a policy with the default horizon and exploration constant.
+     *
+     * @param budget The budget of every decision.
+     * @param workers The number of threads searching in parallel, including the calling thread.
+     * @param seed The seed of all random streams of the searches.
+     */
+    public MctsPolicy(SearchBudget budget, int workers, long seed) {
+        this(budget, workers, seed, DEFAULT_HORIZON, DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * Creates a policy.
+     *
+     * @param budget The budget of every decision.
+     * @param workers The number of threads searching in parallel, including the calling thread.
+     * @param seed The seed of all random streams of the searches.
+     * @param horizon The number of rounds simulated beyond the current one.
+     * @param exploration The exploration constant of the upper confidence bound.
+     * @throws IllegalArgumentException If the number of workers or the horizon is not positive.
+     */
+    public MctsPolicy(SearchBudget budget, int workers, long seed, int horizon, double exploration) {
+        if (workers < 1 || horizon < 1) {
+            throw new IllegalArgumentException("Expected positive workers and horizon, got " + workers + " and " + horizon);
+        }
+
+        this.budget = budget;
+        this.workers = workers;
+        this.seed = seed;
+        this.horizon = horizon;
+        this.exploration = exploration;
+        this.executor = workers == 1 ? null : Executors.newFixedThreadPool(workers - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Choice choose(Competition competition, MonsterStatus monster, DecisionMaker decisionMaker) {
+        int[] candidates = candidates(competition, monster.getIndex());
+        if (candidates.length == 0) {
+            return Choice.PASS;
+        } else if (candidates.length == 1) {
+            return choice(competition, monster, candidates[0]);
+        }
+
+        Competition.Snapshot root = competition.snapshot();
+        SearchNode tree = new SearchNode(null, -1, 0, 0);
+        tree.prepare(monster.getIndex(), candidates);
+
+        long firstStream = searches.getAndIncrement() * workers;
+        long deadline = budget.timeMillis() == 0 ? Long.MAX_VALUE : System.nanoTime() + budget.timeMillis() * 1_000_000;
+        AtomicInteger iterations = new AtomicInteger();
+
+        List<Worker> forks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            SplittableDecisionMaker random = new SplittableDecisionMaker(Algorithm.L64X128, seed);
+            random.startBattle(firstStream + i);
+            forks.add(new Worker(competition.fork(random), random, root, tree, deadline, iterations, competition.getRound() + horizon));
+        }
+        search(forks);
+
+        SearchNode best = tree.mostVisited();
+        return choice(competition, monster, best == null ? candidates[0] : SearchNode.encode(best.action(), best.target()));
+    }
+
+    /**
+     * Stops the worker threads. The policy can still be used afterwards, but only searches on the calling thread.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void search(List<Worker> forks) {
+        List<Future<?>> futures = new ArrayList<>(forks.size() - 1);
+        if (executor != null && !executor.isShutdown()) {
+            for (int i = 1; i < forks.size(); i++) {
+                futures.add(executor.submit(forks.get(i)));
+            }
+        }
+
+        forks.get(0).run();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search worker failed", e.getCause());
+            }
+        }
+    }
+
+    private static int[] candidates(Competition competition, int index) {
+        MonsterStatus monster = competition.getMonsters().get(index);
+        List<Action> actions = monster.getMonster().actions();
+        List<MonsterStatus> opponents = competition.getOpponents(monster);
+
+        int[] candidates = new int[actions.size() * opponents.size()];
+        int count = 0;
+        for (int action = 0; action < actions.size(); action++) {
+            for (MonsterStatus opponent : opponents) {
+                candidates[count++] = SearchNode.encode(action, opponent.getIndex());
+            }
+        }
+        return candidates;
+    }
+
+    private static Choice choice(Competition competition, MonsterStatus monster, int candidate) {
+        Action action = monster.getMonster().actions().get(SearchNode.decodeAction(candidate));
+        return new Choice(action, competition.getMonsters().get(SearchNode.decodeTarget(candidate)));
+    }
+
+    /**
+     * Runs search iterations on its own fork until the budget is used up.
+     */
+    private final class Worker implements Runnable {
+
+        private final Competition fork;
+        private final DecisionMaker random;
+        private final Competition.Snapshot root;
+        private final SearchNode tree;
+        private final long deadline;
+        private final AtomicInteger iterations;
+        private final int lastRound;
+        private final ActionPolicy rollout = ActionPolicy.random();
+        private final double[] rewards;
+
+        Worker(Competition fork, DecisionMaker random, Competition.Snapshot root, SearchNode tree, long deadline, AtomicInteger iterations,
+                int lastRound) {
+            this.fork = fork;
+            this.random = random;
+            this.root = root;
+            this.tree = tree;
+            this.deadline = deadline;
+            this.iterations = iterations;
+            this.lastRound = lastRound;
+            this.rewards = new double[fork.getMonsters().size()];
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline && (budget.iterations() == 0 || iterations.getAndIncrement() < budget.iterations())) {
+                iterate();
+            }
+        }
+
+        private void iterate() {
+            fork.restore(root);
+            tree.addVirtualLoss();
+            SearchNode node = tree;
+
+            // Selection and expansion: follow the tree while it knows the selecting monster
+            while (!isOver()) {
+                int selecting = fork.getSelectingMonsterIndex();
+                if (!node.isPrepared()) {
+                    node.prepare(selecting, candidates(fork, selecting));
+                }
+                if (node.selecting() != selecting) {
+                    break; // A different monster fainted in an earlier sample, the subtree does not fit this one
+                }
+
+                SearchNode child = node.expand();
+                boolean expanded = child != null;
+                if (!expanded) {
+                    child = node.select(exploration);
+                    if (child == null) {
+                        break;
+                    }
+                }
+
+                node = child;
+                MonsterStatus monster = fork.getMonsters().get(selecting);
+                fork.select(monster.getMonster().actions().get(node.action()), fork.getMonsters().get(node.target()));
+                fork.step();
+                if (expanded) {
+                    break;
+                }
+            }
+
+            // Rollout with random selections
+            while (!isOver()) {
+                MonsterStatus monster = fork.getSelectingMonster();
+                Choice choice = rollout.choose(fork, monster, random);
+                fork.select(choice.action(), choice.target());
+                fork.step();
+            }
+
+            evaluate();
+            for (SearchNode current = node; current != null; current = current.parent()) {
+                current.update(current.mover() == -1 ? 0 : rewards[current.mover()]);
+            }
+        }
+
+        private boolean isOver() {
+            return fork.isFinished() || fork.getRound() >= lastRound;
+        }
+
+        private void evaluate() {
+            List<MonsterStatus> monsters = fork.getMonsters();
+            MonsterStatus winner = fork.getWinner();
+            double total = 0;
+            for (int i = 0; i < rewards.length; i++) {
+                MonsterStatus monster = monsters.get(i);
+                if (fork.isFinished()) {
+                    rewards[i] = monster == winner ? 1 : 0;
+                } else {
+                    rewards[i] = monster.isFainted() ? 0 : (double) monster.getHealth() / monster.getMonster().maxHealth();
+                    total += rewards[i];
+                }
+            }
+
+            if (total > 0) {
+                for (int i = 0; i < rewards.length; i++) {
+                    rewards[i] /= total;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package edu.kit.kastel.game.ai;
+
+/**
+ * Limits how long a search may run before it has to answer. A search stops as soon as either limit is reached.
+ *
+ * @param timeMillis The wall-clock time in milliseconds, or 0 for no time limit.
+ * @param iterations The number of iterations, or 0 for no iteration limit.
+ *
+ * @author uupyx
+ */
+public record SearchBudget(long timeMillis, int iterations) {
+
+    /**
+     * Creates a budget.
+     *
+     * @throws IllegalArgumentException If a limit is negative or neither limit is set.
+     */
+    public SearchBudget {
+        if (timeMillis < 0 || iterations < 0 || timeMillis == 0 && iterations == 0) {
+            throw new IllegalArgumentException("Invalid search budget of " + timeMillis + " ms and " + iterations + " iterations");
+        }
+    }
+
+    /**
+     * Creates a budget, that only limits the time.
+     *
+     * @param timeMillis The wall-clock time in milliseconds.
+     * @return The budget.
+     */
+    public static SearchBudget time(long timeMillis) {
+        return new SearchBudget(timeMillis, 0);
+    }
+
+    /**
+     * Creates a budget, that only limits the number of iterations. With a single worker the search is then deterministic.
+     *
+     * @param iterations The number of iterations.
+     * @return The budget.
+     */
+    public static SearchBudget iterations(int iterations) {
+        return new SearchBudget(0, iterations);
+    }
+}
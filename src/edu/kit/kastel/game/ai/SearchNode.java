@@ -0,0 +1,184 @@
+package edu.kit.kastel.game.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node of an open-loop search tree. A node stands for a sequence of selections made since the root, not for a battle state: the random
+ * events between the selections are sampled anew in every iteration, so the statistics of a node average over all outcomes of the chance
+ * events on its path. All methods are synchronized, because the tree is shared by all workers of a search.
+ *
+ * @author uupyx
+ */
+final class SearchNode {
+
+    private final SearchNode parent;
+    private final int mover;
+    private final int action;
+    private final int target;
+
+    private int selecting = -1;
+    private int[] untried;
+    private int untriedCount;
+    private final List<SearchNode> children = new ArrayList<>();
+
+    private int visits;
+    private int virtualLosses;
+    private double reward;
+
+    /**
+     * Creates a node.
+     *
+     * @param parent The parent node, or null for the root.
+     * @param mover The index of the monster, whose selection leads to this node, or -1 for the root.
+     * @param action The index of the selected action of the mover.
+     * @param target The index of the selected target of the mover.
+     */
+    SearchNode(SearchNode parent, int mover, int action, int target) {
+        this.parent = parent;
+        this.mover = mover;
+        this.action = action;
+        this.target = target;
+    }
+
+    SearchNode parent() {
+        return parent;
+    }
+
+    int mover() {
+        return mover;
+    }
+
+    int action() {
+        return action;
+    }
+
+    int target() {
+        return target;
+    }
+
+    /**
+     * Prepares the node for the monster, that selects when the node is reached the first time. Does nothing if it is already prepared.
+     *
+     * @param selecting The index of the selecting monster.
+     * @param candidates The candidate selections, each encoded by {@link #encode(int, int)}.
+     */
+    synchronized void prepare(int selecting, int[] candidates) {
+        if (untried == null) {
+            this.selecting = selecting;
+            this.untried = candidates;
+            this.untriedCount = candidates.length;
+        }
+    }
+
+    synchronized boolean isPrepared() {
+        return untried != null;
+    }
+
+    synchronized int selecting() {
+        return selecting;
+    }
+
+    /**
+     * Adds a child for the next untried candidate and applies a virtual loss to it.
+     *
+     * @return The new child, or null if all candidates have been tried.
+     */
+    synchronized SearchNode expand() {
+        if (untriedCount == 0) {
+            return null;
+        }
+
+        int candidate = untried[--untriedCount];
+        SearchNode child = new SearchNode(this, selecting, decodeAction(candidate), decodeTarget(candidate));
+        children.add(child);
+        child.addVirtualLoss();
+        return child;
+    }
+
+    /**
+     * Selects the child with the highest upper confidence bound and applies a virtual loss to it. Pending virtual losses count as visits
+     * without reward, so concurrent workers spread across the children instead of all following the same path.
+     *
+     * @param exploration The exploration constant.
+     * @return The selected child, or null if there are no children.
+     */
+    synchronized SearchNode select(double exploration) {
+        SearchNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(Math.max(1, visits + virtualLosses));
+
+        for (SearchNode child : children) {
+            double value;
+            synchronized (child) {
+                int count = child.visits + child.virtualLosses;
+                value = count == 0 ? Double.POSITIVE_INFINITY : child.reward / count + exploration * Math.sqrt(logVisits / count);
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+
+        if (best != null) {
+            best.addVirtualLoss();
+        }
+        return best;
+    }
+
+    /**
+     * Gets the child, that has been visited most often.
+     *
+     * @return The most visited child, or null if there are no children.
+     */
+    synchronized SearchNode mostVisited() {
+        SearchNode best = null;
+        int bestVisits = -1;
+        for (SearchNode child : children) {
+            int childVisits = child.visits();
+            if (childVisits > bestVisits) {
+                bestVisits = childVisits;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    synchronized void addVirtualLoss() {
+        virtualLosses++;
+    }
+
+    /**
+     * Records the result of an iteration, that passed this node, and removes its virtual loss.
+     *
+     * @param value The reward of the mover of this node, between 0 and 1.
+     */
+    synchronized void update(double value) {
+        virtualLosses--;
+        visits++;
+        reward += value;
+    }
+
+    synchronized int visits() {
+        return visits;
+    }
+
+    /**
+     * Encodes a candidate selection into a single value.
+     *
+     * @param action The index of the action.
+     * @param target The index of the target.
+     * @return The encoded candidate.
+     */
+    static int encode(int action, int target) {
+        return action << Short.SIZE | target;
+    }
+
+    static int decodeAction(int candidate) {
+        return candidate >>> Short.SIZE;
+    }
+
+    static int decodeTarget(int candidate) {
+        return candidate & 0xFFFF;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.kit.kastel.game.ai;
+
+/**
+ * Fixed-size table of search results, keyed by {@link ZobristHash}. Entries are grouped into buckets of two. When a bucket is full, an
+ * entry of an earlier search is replaced first, then the entry searched to the lower depth, so deep results of the current search survive.
+ *
+ * @author uupyx
+ */
+final class TranspositionTable {
+
+    private static final int BUCKET_SIZE = 2;
+
+    private final long[] keys;
+    private final double[] values;
+    private final byte[] depths;
+    private final int[] ages;
+    private final int mask;
+    private int age;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param bits The binary logarithm of the number of entries.
+     * @throws IllegalArgumentException If the number of entries is out of range.
+     */
+    TranspositionTable(int bits) {
+        if (bits < 1 || bits > 28) {
+            throw new IllegalArgumentException("Expected between 1 and 28 bits, got " + bits);
+        }
+
+        int size = 1 << bits;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.depths = new byte[size];
+        this.ages = new int[size];
+        this.mask = size - BUCKET_SIZE;
+    }
+
+    /**
+     * Starts a new search. Entries of earlier searches stay valid, but are replaced first.
+     */
+    void nextAge() {
+        age++;
+    }
+
+    /**
+     * Looks up the value of a state.
+     *
+     * @param key The hash of the state.
+     * @param depth The depth the value is needed for.
+     * @return The stored value, or NaN if there is none searched to at least that depth.
+     */
+    double probe(long key, int depth) {
+        int bucket = (int) key & mask;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (keys[slot] == key && depths[slot] >= depth) {
+                return values[slot];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Stores the value of a state.
+     *
+     * @param key The hash of the state.
+     * @param depth The depth the value was searched to.
+     * @param value The value.
+     */
+    void store(long key, int depth, double value) {
+        int bucket = (int) key & mask;
+        int victim = bucket;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            if (keys[slot] == key) {
+                if (depths[slot] > depth) {
+                    return;
+                }
+                victim = slot;
+                break;
+            }
+            if (isBetterVictim(slot, victim)) {
+                victim = slot;
+            }
+        }
+
+        keys[victim] = key;
+        values[victim] = value;
+        depths[victim] = (byte) depth;
+        ages[victim] = age;
+    }
+
+    private boolean isBetterVictim(int slot, int victim) {
+        boolean stale = ages[slot] != age;
+        boolean victimStale = ages[victim] != age;
+        if (stale != victimStale) {
+            return stale;
+        }
+        return depths[slot] < depths[victim];
+    }
+}
@@ -0,0 +1,103 @@
+package edu.kit.kastel.game.ai;
+
+import java.util.List;
+
+import edu.kit.kastel.game.model.ProtectTarget;
+import edu.kit.kastel.game.model.Stat;
+import edu.kit.kastel.game.model.StatusCondition;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+
+/**
+ * Zobrist hash of the battle state of a 1v1 competition. Every feature value of every combatant has a fixed random key, and the hash of a
+ * state is the exclusive or of the keys of its features: the health bucket, the stage of every stat, the status condition and the protection
+ * target and rounds. Health is split into {@value #HEALTH_BUCKETS} buckets relative to the maximum health, so states, that only differ by a
+ * few points of health, share their hash.
+ *
+ * @author uupyx
+ */
+final class ZobristHash {
+
+    /** Number of buckets health is split into, besides the fainted bucket. */
+    static final int HEALTH_BUCKETS = 32;
+
+    private static final int COMBATANTS = 2;
+    private static final int STAGES = 11;
+    private static final int MIN_STAGE = -5;
+    private static final int MAX_PROTECTION_ROUNDS = 15;
+    private static final Stat[] STATS = Stat.values();
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final long[][] HEALTH = new long[COMBATANTS][HEALTH_BUCKETS + 1];
+    private static final long[][][] STAGE = new long[COMBATANTS][STATS.length][STAGES];
+    private static final long[][] CONDITION = new long[COMBATANTS][StatusCondition.values().length];
+    private static final long[][] PROTECTION_TARGET = new long[COMBATANTS][ProtectTarget.values().length + 1];
+    private static final long[][] PROTECTION_ROUNDS = new long[COMBATANTS][MAX_PROTECTION_ROUNDS + 1];
+    private static final long[] PERSPECTIVE = new long[COMBATANTS];
+
+    static {
+        int feature = 0;
+        for (int combatant = 0; combatant < COMBATANTS; combatant++) {
+            for (int i = 0; i < HEALTH[combatant].length; i++) {
+                HEALTH[combatant][i] = key(feature++);
+            }
+            for (long[] stat : STAGE[combatant]) {
+                for (int i = 0; i < stat.length; i++) {
+                    stat[i] = key(feature++);
+                }
+            }
+            for (int i = 0; i < CONDITION[combatant].length; i++) {
+                CONDITION[combatant][i] = key(feature++);
+            }
+            for (int i = 0; i < PROTECTION_TARGET[combatant].length; i++) {
+                PROTECTION_TARGET[combatant][i] = key(feature++);
+            }
+            for (int i = 0; i < PROTECTION_ROUNDS[combatant].length; i++) {
+                PROTECTION_ROUNDS[combatant][i] = key(feature++);
+            }
+            PERSPECTIVE[combatant] = key(feature++);
+        }
+    }
+
+    private ZobristHash() {
+    }
+
+    /**
+     * Hashes the state of both combatants of a 1v1 competition, as seen by one of them.
+     *
+     * @param monsters The two combatants.
+     * @param perspective The index of the combatant, whose view the hashed value belongs to.
+     * @return The hash.
+     */
+    static long hash(List<MonsterStatus> monsters, int perspective) {
+        long hash = PERSPECTIVE[perspective];
+        for (int combatant = 0; combatant < COMBATANTS; combatant++) {
+            MonsterStatus monster = monsters.get(combatant);
+            hash ^= HEALTH[combatant][healthBucket(monster)];
+            for (int stat = 0; stat < STATS.length; stat++) {
+                hash ^= STAGE[combatant][stat][monster.getStatManager().getStat(STATS[stat]) - MIN_STAGE];
+            }
+            hash ^= CONDITION[combatant][monster.getStatusConditionManager().getStatusCondition().ordinal()];
+
+            ProtectTarget target = monster.getProtectionTarget();
+            hash ^= PROTECTION_TARGET[combatant][target == null ? 0 : target.ordinal() + 1];
+            hash ^= PROTECTION_ROUNDS[combatant][Math.min(MAX_PROTECTION_ROUNDS, Math.max(0, monster.getProtectionRoundsLeft()))];
+        }
+        return hash;
+    }
+
+    private static int healthBucket(MonsterStatus monster) {
+        if (monster.getHealth() <= 0) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil((double) monster.getHealth() * HEALTH_BUCKETS / monster.getMonster().maxHealth());
+        return Math.min(HEALTH_BUCKETS, Math.max(1, bucket));
+    }
+
+    private static long key(int feature) {
+        long z = SEED + (feature + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,22 +1,32 @@
 package edu.kit.kastel.game.console;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages command registration and execution. Parses user input and matches it to registered commands.
+ * <p>
+ * Commands created by the factory methods of this class are dispatched by their case-folded name, and fixed commands with more than one
+ * token additionally by their second token, so only the few commands sharing these tokens are matched against the input. Other patterns
+ * are matched against every input. Whenever several commands match, the one registered first is executed.
+ * </p>
  *
  * @author uupyx
  */
 public final class CommandManager {
 
-    private final List<CommandEntry> commands;
+    private final Map<String, Dispatch> commands;
+    private final List<CommandEntry> unkeyed;
+    private int registered;
 
     /**
      * Initializes an empty command manager.
      */
     public CommandManager() {
-        commands = new ArrayList<>();
+        commands = new HashMap<>();
+        unkeyed = new ArrayList<>();
     }
 
     /**
@@ -26,32 +36,186 @@ public final class CommandManager {
      * @param command The command to execute when matched.
      */
     public void register(CommandPattern pattern, Command command) {
-        commands.add(new CommandEntry(pattern, command));
+        CommandEntry entry = new CommandEntry(pattern, command, registered++);
+        if (!(pattern instanceof KeyedPattern keyed)) {
+            unkeyed.add(entry);
+            return;
+        }
+
+        Dispatch dispatch = commands.computeIfAbsent(keyed.name(), name -> new Dispatch());
+        if (keyed.subcommand() == null) {
+            dispatch.any().add(entry);
+        } else {
+            dispatch.bySubcommand().computeIfAbsent(keyed.subcommand(), subcommand -> new ArrayList<>()).add(entry);
+        }
     }
 
     /**
      * Reads input, matches it against registered commands, and executes the corresponding command. If no command matches, an error message
      * is displayed.
+     *
+     * @return False if the input has ended and nothing was executed, otherwise true.
      */
-    public void parse() {
+    public boolean parse() {
         String input = Console.readLine();
-        String[] tokens = input.trim().split("\\s+");
-        for (CommandEntry entry : commands) {
+        if (input == null) {
+            return false;
+        }
+        execute(input);
+        return true;
+    }
+
+    /**
+     * Matches a line of input against registered commands, and executes the corresponding command. If no command matches, an error
+     * message is displayed.
+     *
+     * @param input The line of input.
+     */
+    public void execute(String input) {
+        String[] tokens = tokenize(input);
+        Match match = null;
+
+        Dispatch dispatch = commands.get(fold(tokens[0]));
+        if (dispatch != null) {
+            if (tokens.length > 1 && !dispatch.bySubcommand().isEmpty()) {
+                match = firstMatch(dispatch.bySubcommand().get(fold(tokens[1])), tokens, match);
+            }
+            match = firstMatch(dispatch.any(), tokens, match);
+        }
+        match = firstMatch(unkeyed, tokens, match);
+
+        if (match != null) {
+            match.entry().command().execute(match.args());
+        } else {
+            Console.writeMessage(Message.ERROR_UNKNOWN_COMMAND);
+        }
+    }
+
+    /**
+     * Finds the first entry matching the tokens, unless it was registered after the best match so far.
+     *
+     * @param entries The entries in registration order, may be null.
+     * @param tokens The user input tokens.
+     * @param best The best match so far, may be null.
+     * @return The better match.
+     */
+    private static Match firstMatch(List<CommandEntry> entries, String[] tokens, Match best) {
+        if (entries == null) {
+            return best;
+        }
+        for (CommandEntry entry : entries) {
+            if (best != null && entry.order() > best.entry().order()) {
+                return best;
+            }
             String[] args = entry.pattern().match(tokens);
             if (args != null) {
-                entry.command().execute(args);
-                return;
+                return new Match(entry, args);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Splits a line at whitespace, like trimming it and splitting it at {@code \s+}, but in a single pass without a regular expression.
+     *
+     * @param input The line of input.
+     * @return The tokens, a single empty token for a blank line.
+     */
+    static String[] tokenize(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return new String[] {""};
+        }
+
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (isSeparator(input.charAt(i)) && !isSeparator(input.charAt(i - 1))) {
+                count++;
+            }
+        }
+
+        String[] tokens = new String[count];
+        int token = 0;
+        int tokenStart = start;
+        for (int i = start; i < end; i++) {
+            if (isSeparator(input.charAt(i))) {
+                if (tokenStart < i) {
+                    tokens[token++] = input.substring(tokenStart, i);
+                }
+                tokenStart = i + 1;
             }
         }
+        tokens[token] = input.substring(tokenStart, end);
+        return tokens;
+    }
+
+    // The characters of \s in a regular expression
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 
-        Console.writeMessage(Message.ERROR_UNKNOWN_COMMAND);
+    /**
+     * Folds the case of a token, so tokens, that are equal ignoring case, have the same key.
+     *
+     * @param token The token.
+     * @return The folded token.
+     */
+    private static String fold(String token) {
+        // Mirrors String.equalsIgnoreCase, which compares characters in upper and lower case
+        char[] folded = null;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            char f = Character.toLowerCase(Character.toUpperCase(c));
+            if (f != c && folded == null) {
+                folded = token.toCharArray();
+            }
+            if (folded != null) {
+                folded[i] = f;
+            }
+        }
+        return folded == null ? token : new String(folded);
     }
 
     /**
      * Associates a command pattern with a command.
      */
-    private record CommandEntry(CommandPattern pattern, Command command) {
+    private record CommandEntry(CommandPattern pattern, Command command, int order) {
+
+    }
 
+    /**
+     * A matched command with the arguments extracted from the input.
+     */
+    private record Match(CommandEntry entry, String[] args) {
+
+    }
+
+    /**
+     * The commands sharing a name, with and without a fixed second token.
+     */
+    private record Dispatch(List<CommandEntry> any, Map<String, List<CommandEntry>> bySubcommand) {
+
+        Dispatch() {
+            this(new ArrayList<>(), new HashMap<>());
+        }
+    }
+
+    /**
+     * A pattern, that only matches input starting with its name and, if set, its subcommand, both compared ignoring case.
+     */
+    private record KeyedPattern(String name, String subcommand, CommandPattern matcher) implements CommandPattern {
+
+        @Override
+        public String[] match(String[] tokens) {
+            return matcher.match(tokens);
+        }
     }
 
     /**
@@ -90,7 +254,7 @@ public final class CommandManager {
      * @return A command pattern that matches only the exact sequence.
      */
     public static CommandPattern fixed(String... tokens) {
-        return inputTokens -> fixed(tokens, inputTokens);
+        return new KeyedPattern(fold(tokens[0]), tokens.length > 1 ? fold(tokens[1]) : null, inputTokens -> fixed(tokens, inputTokens));
     }
 
     /**
@@ -120,14 +284,14 @@ public final class CommandManager {
      * @return A command pattern that matches when the exact number of arguments is provided.
      */
     public static CommandPattern fixedCount(String commandName, int expectedArgCount) {
-        return inputTokens -> {
+        return new KeyedPattern(fold(commandName), null, inputTokens -> {
             if ((inputTokens.length != 1 + expectedArgCount) || !inputTokens[0].equalsIgnoreCase(commandName)) {
                 return null;
             }
             String[] args = new String[expectedArgCount];
             System.arraycopy(inputTokens, 1, args, 0, expectedArgCount);
             return args;
-        };
+        });
     }
 
     /**
@@ -138,14 +302,14 @@ public final class CommandManager {
      * @return A command pattern that allows additional arguments beyond the minimum.
      */
     public static CommandPattern variableCount(String commandName, int minArgs) {
-        return inputTokens -> {
+        return new KeyedPattern(fold(commandName), null, inputTokens -> {
             if ((inputTokens.length < 1 + minArgs) || !inputTokens[0].equalsIgnoreCase(commandName)) {
                 return null;
             }
             String[] args = new String[inputTokens.length - 1];
             System.arraycopy(inputTokens, 1, args, 0, args.length);
             return args;
-        };
+        });
     }
 
     /**
@@ -157,7 +321,7 @@ public final class CommandManager {
      * @return A command pattern that matches when the number of arguments is within the required and optional range.
      */
     public static CommandPattern hybrid(String commandName, int requiredArgs, int optionalArgs) {
-        return inputTokens -> {
+        return new KeyedPattern(fold(commandName), null, inputTokens -> {
             int totalArgs = inputTokens.length - 1; // without name
             if (totalArgs < requiredArgs || totalArgs > (requiredArgs + optionalArgs) || !inputTokens[0].equalsIgnoreCase(commandName)) {
                 return null;
@@ -165,7 +329,7 @@ public final class CommandManager {
             String[] args = new String[totalArgs];
             System.arraycopy(inputTokens, 1, args, 0, totalArgs);
             return args;
-        };
+        });
     }
 
 }
@@ -2,21 +2,43 @@ package edu.kit.kastel.game.console;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
- * Manages console input and output for the game.
+ * Manages console input and output for the game. All static reads and writes go to the console of the current session, if one is bound
+ * to the current thread by {@link #runSession(Runnable)}, and to the standard streams otherwise. Battles write through the
+ * {@link Terminal} of their console instead, which is fixed when they are created.
  *
  * @author uupyx
  */
 public final class Console implements AutoCloseable {
 
-    private static Console console;
+    private static final ThreadLocal<Console> SESSION = new ThreadLocal<>();
+
+    private static Console standard;
+    private static volatile OutputMode outputMode = OutputMode.LINE;
 
     private final BufferedReader reader;
     private final BufferedWriter writer;
+    private final WritableByteChannel channel;
+    private final Terminal terminal = new ConsoleTerminal();
+
+    // Reused for rendering messages, only touched while output is not discarded
+    private final StringBuilder line = new StringBuilder();
+    private char[] characters = new char[128];
 
     /**
      * Private constructor to set up the console's input and output streams.
@@ -24,81 +46,272 @@ public final class Console implements AutoCloseable {
     private Console() {
         reader = new BufferedReader(new InputStreamReader(System.in));
         writer = new BufferedWriter(new OutputStreamWriter(System.out));
+        channel = new FileOutputStream(FileDescriptor.out).getChannel();
+    }
+
+    private Console(InputStream input, OutputStream output) {
+        reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        channel = Channels.newChannel(output);
     }
 
     /**
      * Initializes the console for input and output operations.
      */
     public static void initialize() {
-        if (console != null) {
+        if (standard != null) {
             return;
         }
 
-        console = new Console();
+        standard = new Console();
     }
 
     /**
-     * Terminates the console and closes the resources.
+     * Opens the console of a session, that reads and writes UTF-8 encoded text on the given streams. Closing the console closes them.
+     *
+     * @param input The input of the session.
+     * @param output The output of the session.
+     * @return The console of the session.
      */
-    public static void terminate() {
-        Console.console.close();
+    public static Console open(InputStream input, OutputStream output) {
+        return new Console(input, output);
     }
 
     /**
-     * Reads a line of text from the console.
+     * Runs a task with this console bound to the current thread, so every read and write of the task goes to this console. Pending output
+     * is flushed afterwards.
      *
-     * @return The line read from the console, or an empty string if an error occurs.
+     * @param task The task of the session.
      */
-    public static String readLine() {
+    public void runSession(Runnable task) {
+        Console previous = SESSION.get();
+        SESSION.set(this);
         try {
-            return console.reader.readLine();
-        } catch (IOException e) {
+            task.run();
+        } finally {
+            flush();
+            if (previous != null) {
+                SESSION.set(previous);
+            } else {
+                SESSION.remove();
+            }
+        }
+    }
+
+    private static Console current() {
+        Console session = SESSION.get();
+        return session != null ? session : standard;
+    }
+
+    /**
+     * Gets the terminal of the current console, that battles created now should write to.
+     *
+     * @return The terminal of the current session or the standard streams, or {@link Terminal#DISCARD} if the console was never
+     *         initialized.
+     */
+    public static Terminal terminal() {
+        Console console = current();
+        return console != null ? console.terminal : Terminal.DISCARD;
+    }
 
-            return "";
+    /**
+     * Checks whether output is currently discarded, either because the output mode discards it, or because the console was never
+     * initialized.
+     *
+     * @return True if output is discarded, otherwise false.
+     */
+    public static boolean isSilent() {
+        return terminal().isSilent();
+    }
+
+    /**
+     * Sets how output is delivered. Pending output is flushed when switching modes.
+     *
+     * @param outputMode The new output mode.
+     */
+    public static void setOutputMode(OutputMode outputMode) {
+        flush();
+        Console.outputMode = outputMode;
+    }
+
+    /**
+     * Gets how output is currently delivered.
+     *
+     * @return The output mode.
+     */
+    public static OutputMode getOutputMode() {
+        return outputMode;
+    }
+
+    /**
+     * Flushes all pending output.
+     */
+    public static void flush() {
+        Console console = current();
+        if (console == null) {
+            return;
+        }
+
+        try {
+            console.writer.flush();
+        } catch (IOException e) {
+            // Handle if needed, outside the control of the programmer
         }
     }
 
+    /**
+     * Terminates the console and closes the resources. Pending output is flushed first.
+     */
+    public static void terminate() {
+        standard.close();
+    }
+
+    /**
+     * Reads a line of text from the console. Pending output is flushed first if reading would block, so prompts are visible while
+     * waiting for input, but scripted input does not cause a flush per line.
+     *
+     * @return The line read from the console, or null at the end of the input or if it cannot be read, e.g. because a client of the
+     *         server disconnected.
+     */
+    public static String readLine() {
+        return terminal().readLine();
+    }
+
     /**
      * Writes a string to the console without adding a new line.
      *
      * @param content The content to write.
      */
     public static void writeVerbatim(String content) {
+        if (isSilent()) {
+            return;
+        }
+
+        Console console = current();
         try {
             console.writer.write(content);
-            console.writer.flush();
+            console.flushLine();
         } catch (IOException e) {
             // Handle if needed, outside the control of the programmer
         }
     }
 
+    /**
+     * Writes the content of a file to the console byte by byte, without decoding it. The file is handed to the output channel in one
+     * transfer after pending output has been flushed.
+     *
+     * @param path The file to write.
+     * @return The last byte of the file, or -1 if the file is empty.
+     * @throws IOException If the file cannot be read.
+     */
+    public static int writeFile(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = file.size();
+            int last = -1;
+            if (size > 0) {
+                ByteBuffer buffer = ByteBuffer.allocate(1);
+                file.read(buffer, size - 1);
+                last = buffer.get(0) & 0xFF;
+            }
+
+            if (isSilent()) {
+                return last;
+            }
+
+            Console console = current();
+            flush();
+            long position = 0;
+            while (position < size) {
+                position += file.transferTo(position, size - position, console.channel);
+            }
+            return last;
+        }
+    }
+
     /**
      * Writes a line of text to the console with a new line after it.
      *
      * @param line The line to write.
      */
     public static void writeLine(String line) {
-        try {
-            console.writer.write(line);
-            console.writer.newLine();
-            console.writer.flush();
-        } catch (IOException e) {
-            // Handle if needed, outside the control of the programmer
-        }
+        terminal().writeLine(line);
     }
 
     /**
-     * Writes a formatted message to the console.
+     * Writes a formatted message to the console. Nothing is formatted while output is discarded.
      *
      * @param message The message to display.
      * @param args Arguments to format the message.
      */
     public static void writeMessage(Message message, Object... args) {
-        if (message == null) {
-            return;
+        terminal().writeMessage(message, args);
+    }
+
+    /**
+     * Writes a message without arguments to the console.
+     *
+     * @param message The message to display.
+     */
+    public static void writeMessage(Message message) {
+        terminal().writeMessage(message);
+    }
+
+    /**
+     * Writes a message with a single text argument to the console.
+     *
+     * @param message The message to display.
+     * @param first The first argument.
+     */
+    public static void writeMessage(Message message, String first) {
+        terminal().writeMessage(message, first);
+    }
+
+    /**
+     * Writes a message with two text arguments to the console.
+     *
+     * @param message The message to display.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public static void writeMessage(Message message, String first, String second) {
+        terminal().writeMessage(message, first, second);
+    }
+
+    /**
+     * Writes a message with a text and a number argument to the console, without boxing the number.
+     *
+     * @param message The message to display.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public static void writeMessage(Message message, String first, int second) {
+        terminal().writeMessage(message, first, second);
+    }
+
+    private StringBuilder startMessage() {
+        line.setLength(0);
+        return line;
+    }
+
+    private void writeMessageLine() {
+        if (characters.length < line.length()) {
+            characters = new char[Math.max(line.length(), characters.length * 2)];
         }
+        line.getChars(0, line.length(), characters, 0);
 
-        writeLine(message.getFormatted(args));
+        try {
+            writer.write(characters, 0, line.length());
+            writer.newLine();
+            flushLine();
+        } catch (IOException e) {
+            // Handle if needed, outside the control of the programmer
+        }
+    }
+
+    private void flushLine() throws IOException {
+        if (outputMode == OutputMode.LINE) {
+            writer.flush();
+        }
     }
 
     /**
@@ -114,4 +327,92 @@ public final class Console implements AutoCloseable {
         }
     }
 
+    /**
+     * Terminal reading and writing the streams of this console. Messages are rendered into buffers of the console, so a console must
+     * not be written to by two threads at the same time.
+     */
+    private final class ConsoleTerminal implements Terminal {
+
+        @Override
+        public boolean isSilent() {
+            return outputMode == OutputMode.DISCARD;
+        }
+
+        @Override
+        public String readLine() {
+            try {
+                if (!reader.ready()) {
+                    writer.flush();
+                }
+                return reader.readLine();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void writeLine(String content) {
+            if (isSilent()) {
+                return;
+            }
+
+            try {
+                writer.write(content);
+                writer.newLine();
+                flushLine();
+            } catch (IOException e) {
+                // Handle if needed, outside the control of the programmer
+            }
+        }
+
+        @Override
+        public void writeMessage(Message message, Object... args) {
+            if (message == null || isSilent()) {
+                return;
+            }
+
+            message.appendTo(startMessage(), args);
+            writeMessageLine();
+        }
+
+        @Override
+        public void writeMessage(Message message) {
+            if (message == null || isSilent()) {
+                return;
+            }
+
+            message.appendTo(startMessage());
+            writeMessageLine();
+        }
+
+        @Override
+        public void writeMessage(Message message, String first) {
+            if (message == null || isSilent()) {
+                return;
+            }
+
+            message.appendTo(startMessage(), first);
+            writeMessageLine();
+        }
+
+        @Override
+        public void writeMessage(Message message, String first, String second) {
+            if (message == null || isSilent()) {
+                return;
+            }
+
+            message.appendTo(startMessage(), first, second);
+            writeMessageLine();
+        }
+
+        @Override
+        public void writeMessage(Message message, String first, int second) {
+            if (message == null || isSilent()) {
+                return;
+            }
+
+            message.appendTo(startMessage(), first, second);
+            writeMessageLine();
+        }
+    }
 }
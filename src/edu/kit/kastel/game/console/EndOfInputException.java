@@ -0,0 +1,19 @@
+package edu.kit.kastel.game.console;
+
+/**
+ * Exception thrown when input is required but the input of a terminal has ended, e.g. because a client of the server disconnected while
+ * a decision was pending.
+ *
+ * @author uupyx
+ */
+public final class EndOfInputException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an exception for the end of the input.
+     */
+    public EndOfInputException() {
+        super("The input has ended");
+    }
+}
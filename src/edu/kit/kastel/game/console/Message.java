@@ -1,5 +1,9 @@
 package edu.kit.kastel.game.console;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
 /**
  * Enum representing various messages in the game.
  *
@@ -97,6 +101,18 @@ public enum Message {
     /** Error message. */
     ERROR_MONSTER_EXIST(false, "Error, monster %s does not exist."),
 
+    /** Error message. */
+    ERROR_DECISION_LOG(false, "Error, failed to access decision log %s."),
+    /** Error message. */
+    ERROR_SERVER(false, "Error, failed to serve on %s."),
+    /** Error message. */
+    ERROR_ACCEPT(false, "Error, failed to accept a client: %s."),
+    /** Error message. */
+    ERROR_SESSION(false, "Error, session %d failed: %s."),
+
+    /** Server start message. */
+    SERVER_LISTENING(false, "Serving on %s."),
+
     /** Error message. */
     ERROR(false, "Error, %s."),
 
@@ -124,14 +140,64 @@ public enum Message {
     /** Wrong arguments error. */
     ERROR_WRONG_ARGS(false, "Error, wrong arguments."),
     /** No competition running error. */
-    ERROR_NO_COMPETITION(false, "Error, no competition running.");
+    ERROR_NO_COMPETITION(false, "Error, no competition running."),
+
+    /** Simulation summary message. */
+    SIMULATION_SUMMARY(false, "Simulated %d battles in %d ms (%d battles/s)."),
+    /** Simulation summary message. */
+    SIMULATION_WINS(false, "%s: %d wins"),
+    /** Simulation summary message. */
+    SIMULATION_DRAWS(false, "Draws: %d"),
+    /** Simulation summary message. */
+    SIMULATION_ROUNDS(false, "Average rounds: %.2f"),
+    /** Tournament result message. */
+    TOURNAMENT_PAIR(false, "%s vs %s: %d/%d/%d (%.1f%%, 95%% CI %.1f%%-%.1f%%)");
 
     private final boolean extraNewLine;
     private final String format;
 
+    // The format split at its conversions: literals[i] precedes conversion i, the last literal follows the last conversion
+    private final String[] literals;
+    private final char[] conversions;
+    private final String[] specifiers;
+
     Message(boolean extraNewLine, String format) {
         this.extraNewLine = extraNewLine;
         this.format = format;
+
+        List<String> literalList = new ArrayList<>();
+        List<String> specifierList = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < format.length()) {
+            char c = format.charAt(position++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            int start = position - 1;
+            while (position < format.length() && (format.charAt(position) == '.' || Character.isDigit(format.charAt(position)))) {
+                position++;
+            }
+            char conversion = format.charAt(position++);
+            if (conversion == '%') {
+                literal.append('%');
+                continue;
+            }
+
+            literalList.add(literal.toString());
+            literal.setLength(0);
+            specifierList.add(format.substring(start, position));
+        }
+        literalList.add(literal.toString());
+
+        this.literals = literalList.toArray(new String[0]);
+        this.specifiers = specifierList.toArray(new String[0]);
+        this.conversions = new char[specifiers.length];
+        for (int i = 0; i < specifiers.length; i++) {
+            conversions[i] = specifiers[i].charAt(specifiers[i].length() - 1);
+        }
     }
 
     /**
@@ -141,6 +207,117 @@ public enum Message {
      * @return The formatted message.
      */
     public String getFormatted(Object... args) {
-        return (extraNewLine ? "\n" : "") + String.format(format, args);
+        StringBuilder out = new StringBuilder(format.length() + 16);
+        appendTo(out, args);
+        return out.toString();
+    }
+
+    /**
+     * Appends the formatted message to a builder. The result is the same as {@link String#format(String, Object...)} of the message, but
+     * the format is not parsed again.
+     *
+     * @param out The builder to append to.
+     * @param args Arguments for formatting the message.
+     */
+    public void appendTo(StringBuilder out, Object... args) {
+        begin(out);
+        for (int i = 0; i < conversions.length; i++) {
+            if (i >= args.length) {
+                throw new MissingFormatArgumentException(specifiers[i]);
+            }
+            if (conversions[i] == 's' || conversions[i] == 'd') {
+                out.append(args[i]);
+            } else {
+                out.append(String.format(specifiers[i], args[i]));
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * Appends the message without arguments to a builder.
+     *
+     * @param out The builder to append to.
+     */
+    public void appendTo(StringBuilder out) {
+        begin(out);
+        end(0);
+    }
+
+    /**
+     * Appends the message with a single text argument to a builder.
+     *
+     * @param out The builder to append to.
+     * @param first The first argument.
+     */
+    public void appendTo(StringBuilder out, String first) {
+        begin(out);
+        appendText(out, 0, first);
+        end(1);
+    }
+
+    /**
+     * Appends the message with two text arguments to a builder.
+     *
+     * @param out The builder to append to.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void appendTo(StringBuilder out, String first, String second) {
+        begin(out);
+        appendText(out, 0, first);
+        appendText(out, 1, second);
+        end(2);
+    }
+
+    /**
+     * Appends the message with a text and a number argument to a builder, without boxing the number.
+     *
+     * @param out The builder to append to.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void appendTo(StringBuilder out, String first, int second) {
+        begin(out);
+        appendText(out, 0, first);
+        appendNumber(out, 1, second);
+        end(2);
+    }
+
+    private void begin(StringBuilder out) {
+        if (extraNewLine) {
+            out.append('\n');
+        }
+        out.append(literals[0]);
+    }
+
+    private void appendText(StringBuilder out, int index, String value) {
+        if (index >= conversions.length) {
+            return;
+        }
+        if (conversions[index] == 's') {
+            out.append(value);
+        } else {
+            out.append(String.format(specifiers[index], value));
+        }
+        out.append(literals[index + 1]);
+    }
+
+    private void appendNumber(StringBuilder out, int index, int value) {
+        if (index >= conversions.length) {
+            return;
+        }
+        if (conversions[index] == 's' || conversions[index] == 'd') {
+            out.append(value);
+        } else {
+            out.append(String.format(specifiers[index], value));
+        }
+        out.append(literals[index + 1]);
+    }
+
+    private void end(int argumentCount) {
+        if (argumentCount < conversions.length) {
+            throw new MissingFormatArgumentException(specifiers[argumentCount]);
+        }
     }
 }
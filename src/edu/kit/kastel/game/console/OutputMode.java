@@ -0,0 +1,23 @@
+package edu.kit.kastel.game.console;
+
+/**
+ * Represents the ways the {@link Console} can deliver its output.
+ *
+ * @author uupyx
+ */
+public enum OutputMode {
+    /**
+     * Every write is flushed immediately.
+     */
+    LINE,
+
+    /**
+     * Output is collected and only flushed before reading input and when the console terminates.
+     */
+    BUFFERED,
+
+    /**
+     * Output is discarded without being formatted.
+     */
+    DISCARD
+}
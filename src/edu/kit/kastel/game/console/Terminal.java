@@ -0,0 +1,119 @@
+package edu.kit.kastel.game.console;
+
+/**
+ * Input and output of a single game session or battle. Every {@link edu.kit.kastel.game.Competition} owns one and hands it to the model,
+ * so independent battles write to their own terminal and can run concurrently without interleaving their output.
+ *
+ * @author uupyx
+ */
+public interface Terminal {
+
+    /**
+     * Terminal, that discards all output without formatting it and has no input, e.g. for headless battles and search.
+     */
+    Terminal DISCARD = new Terminal() {
+        @Override
+        public boolean isSilent() {
+            return true;
+        }
+
+        @Override
+        public String readLine() {
+            return null;
+        }
+
+        @Override
+        public void writeLine(String line) {
+        }
+
+        @Override
+        public void writeMessage(Message message, Object... args) {
+        }
+
+        @Override
+        public void writeMessage(Message message) {
+        }
+
+        @Override
+        public void writeMessage(Message message, String first) {
+        }
+
+        @Override
+        public void writeMessage(Message message, String first, String second) {
+        }
+
+        @Override
+        public void writeMessage(Message message, String first, int second) {
+        }
+    };
+
+    /**
+     * Checks whether output is discarded. Callers may skip preparing arguments of messages in that case.
+     *
+     * @return True if output is discarded, otherwise false.
+     */
+    boolean isSilent();
+
+    /**
+     * Reads a line of input. Pending output is flushed first if reading would block.
+     *
+     * @return The line read, or null at the end of the input or if it cannot be read.
+     */
+    String readLine();
+
+    /**
+     * Writes a line of text with a new line after it.
+     *
+     * @param line The line to write.
+     */
+    void writeLine(String line);
+
+    /**
+     * Writes a formatted message. Nothing is formatted while output is discarded.
+     *
+     * @param message The message to display.
+     * @param args Arguments to format the message.
+     */
+    void writeMessage(Message message, Object... args);
+
+    /**
+     * Writes a message without arguments.
+     *
+     * @param message The message to display.
+     */
+    default void writeMessage(Message message) {
+        writeMessage(message, new Object[0]);
+    }
+
+    /**
+     * Writes a message with a single text argument.
+     *
+     * @param message The message to display.
+     * @param first The first argument.
+     */
+    default void writeMessage(Message message, String first) {
+        writeMessage(message, new Object[] {first});
+    }
+
+    /**
+     * Writes a message with two text arguments.
+     *
+     * @param message The message to display.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    default void writeMessage(Message message, String first, String second) {
+        writeMessage(message, new Object[] {first, second});
+    }
+
+    /**
+     * Writes a message with a text and a number argument, without boxing the number if the terminal supports it.
+     *
+     * @param message The message to display.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    default void writeMessage(Message message, String first, int second) {
+        writeMessage(message, new Object[] {first, second});
+    }
+}
@@ -1,28 +1,41 @@
 package edu.kit.kastel.game.decision;
 
-import edu.kit.kastel.game.console.Console;
+import edu.kit.kastel.game.console.EndOfInputException;
 import edu.kit.kastel.game.console.Message;
+import edu.kit.kastel.game.console.Terminal;
 
 /**
- * Decision maker for debug mode. Provides deterministic decision-making through user input.
+ * Decision maker for debug mode. Provides deterministic decision-making through user input. If the input ends while a decision is
+ * pending, an {@link EndOfInputException} is thrown instead of asking again.
  *
  * @author uupyx
  */
 public final class DebugDecisionMaker implements DecisionMaker {
 
+    private final Terminal terminal;
+
+    /**
+     * Creates a decision maker, that asks for every decision on the given terminal.
+     *
+     * @param terminal The terminal of the session.
+     */
+    public DebugDecisionMaker(Terminal terminal) {
+        this.terminal = terminal;
+    }
+
     @Override
     public boolean decideYesNo(double probability, String context) {
         
         while (true) {
-            Console.writeMessage(Message.DECIDE_YES_NO, context);
-            String input = Console.readLine();
+            terminal.writeMessage(Message.DECIDE_YES_NO, context);
+            String input = readInput();
             if (input.equals("y")) {
                 return true;
             }
             if (input.equals("n")) {
                 return false;
             }
-            Console.writeMessage(Message.ERROR_DEBUG_Y_N);
+            terminal.writeMessage(Message.ERROR_DEBUG_Y_N);
         }
     }
 
@@ -30,15 +43,15 @@ public final class DebugDecisionMaker implements DecisionMaker {
     public double decideDouble(double min, double max, String context) {
         while (true) {
             try {
-                Console.writeMessage(Message.DECIDE_DOUBLE, context, min, max);
+                terminal.writeMessage(Message.DECIDE_DOUBLE, context, min, max);
                 
-                double value = Double.parseDouble(Console.readLine());
+                double value = Double.parseDouble(readInput());
                 if (value >= min && value <= max) {
                     return value;
                 }
-                Console.writeMessage(Message.ERROR_DEBUG_OUT_OF_RANGE);
+                terminal.writeMessage(Message.ERROR_DEBUG_OUT_OF_RANGE);
             } catch (NumberFormatException e) {
-                Console.writeMessage(Message.ERROR_DEBUG_INVALID_NUMBER);
+                terminal.writeMessage(Message.ERROR_DEBUG_INVALID_NUMBER);
             }
         }
     }
@@ -47,17 +60,24 @@ public final class DebugDecisionMaker implements DecisionMaker {
     public int decideInt(int min, int max, String context) {
         while (true) {
             try {
-                Console.writeMessage(Message.DECIDE_INTEGER, context, min, max);
+                terminal.writeMessage(Message.DECIDE_INTEGER, context, min, max);
                 
-                int value = Integer.parseInt(Console.readLine());
+                int value = Integer.parseInt(readInput());
                 if (value >= min && value <= max) {
                     return value;
                 }
-                Console.writeMessage(Message.ERROR_DEBUG_OUT_OF_RANGE);
+                terminal.writeMessage(Message.ERROR_DEBUG_OUT_OF_RANGE);
             } catch (NumberFormatException e) {
-                Console.writeMessage(Message.ERROR_DEBUG_INVALID_NUMBER);
+                terminal.writeMessage(Message.ERROR_DEBUG_INVALID_NUMBER);
             }
         }
     }
 
+    private String readInput() {
+        String input = terminal.readLine();
+        if (input == null) {
+            throw new EndOfInputException();
+        }
+        return input;
+    }
 }
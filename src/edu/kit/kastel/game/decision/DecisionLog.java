@@ -0,0 +1,327 @@
+package edu.kit.kastel.game.decision;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recorded outcomes of random decisions, as written by {@link RecordingDecisionMaker} and read by {@link ReplayDecisionMaker}.
+ * <p>
+ * Every decision is one record: a varint tag made of the context id and the kind of the decision, followed by the value. Yes/no decisions
+ * keep their value in the kind, integers are zigzag varints and doubles their eight raw bytes. Context strings are stored once in a table.
+ * A round index maps every started round to the offset of its first record.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class DecisionLog {
+
+    /** Kind of a yes/no decision, that was answered with no. */
+    static final int KIND_NO = 0;
+
+    /** Kind of a yes/no decision, that was answered with yes. */
+    static final int KIND_YES = 1;
+
+    /** Kind of a double decision. */
+    static final int KIND_DOUBLE = 2;
+
+    /** Kind of an integer decision. */
+    static final int KIND_INT = 3;
+
+    /** Number of bits of the tag holding the kind. */
+    static final int KIND_BITS = 2;
+
+    private static final int MAGIC = 0x4D424452;
+    private static final int VERSION = 1;
+
+    private final List<String> contexts;
+    private final byte[] records;
+    private final int[] rounds;
+    private final int[] roundOffsets;
+
+    /**
+     * Creates a log from its parts.
+     *
+     * @param contexts The context table, indexed by context id.
+     * @param records The encoded records.
+     * @param rounds The numbers of the started rounds, in order.
+     * @param roundOffsets The offset of the first record of each started round.
+     */
+    DecisionLog(List<String> contexts, byte[] records, int[] rounds, int[] roundOffsets) {
+        this.contexts = List.copyOf(contexts);
+        this.records = records;
+        this.rounds = rounds;
+        this.roundOffsets = roundOffsets;
+    }
+
+    /**
+     * Gets the context table.
+     *
+     * @return The contexts, indexed by context id.
+     */
+    public List<String> contexts() {
+        return contexts;
+    }
+
+    /**
+     * Gets the size of the encoded records.
+     *
+     * @return The number of bytes.
+     */
+    public int size() {
+        return records.length;
+    }
+
+    /**
+     * Gets the number of started rounds in the index.
+     *
+     * @return The number of index entries.
+     */
+    public int roundCount() {
+        return rounds.length;
+    }
+
+    /**
+     * Gets the number of a started round.
+     *
+     * @param entry The index entry.
+     * @return The round number.
+     */
+    public int round(int entry) {
+        return rounds[entry];
+    }
+
+    /**
+     * Gets the offset of the first record of a started round.
+     *
+     * @param entry The index entry.
+     * @return The offset in bytes.
+     */
+    public int roundOffset(int entry) {
+        return roundOffsets[entry];
+    }
+
+    byte[] records() {
+        return records;
+    }
+
+    /**
+     * Writes this log in its binary format.
+     *
+     * @param stream The stream to write to, which is not closed.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(contexts.size());
+        for (String context : contexts) {
+            out.writeUTF(context);
+        }
+        out.writeInt(rounds.length);
+        for (int i = 0; i < rounds.length; i++) {
+            out.writeInt(rounds[i]);
+            out.writeInt(roundOffsets[i]);
+        }
+        out.writeInt(records.length);
+        out.write(records);
+        out.flush();
+    }
+
+    /**
+     * Reads a log in the binary format of {@link #writeTo(OutputStream)}.
+     *
+     * @param stream The stream to read from, which is not closed.
+     * @return The log.
+     * @throws IOException If reading fails or the data is no valid decision log, e.g. because a record refers to an unknown context or
+     *         a round starts within a record.
+     */
+    public static DecisionLog readFrom(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a decision log");
+        }
+
+        int contextCount = readCount(in);
+        List<String> contexts = new ArrayList<>(contextCount);
+        for (int i = 0; i < contextCount; i++) {
+            contexts.add(in.readUTF());
+        }
+        int roundCount = readCount(in);
+        int[] rounds = new int[roundCount];
+        int[] roundOffsets = new int[roundCount];
+        for (int i = 0; i < roundCount; i++) {
+            rounds[i] = in.readInt();
+            roundOffsets[i] = in.readInt();
+        }
+        byte[] records = new byte[readCount(in)];
+        in.readFully(records);
+
+        validate(contextCount, records, roundOffsets);
+        return new DecisionLog(contexts, records, rounds, roundOffsets);
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Negative count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Checks, that every record is complete and refers to a known context, and that every round starts at a record or the end, so a
+     * replay never reads outside of the records.
+     */
+    private static void validate(int contextCount, byte[] records, int[] roundOffsets) throws IOException {
+        boolean[] recordStarts = new boolean[records.length + 1];
+        Reader reader = new Reader(records, 0);
+        try {
+            while (reader.hasNext()) {
+                int offset = reader.position();
+                recordStarts[offset] = true;
+                long tag = reader.readTag();
+                if (tag >>> KIND_BITS >= contextCount) {
+                    throw new IOException("Unknown context in record at " + offset);
+                }
+                reader.skipValue((int) (tag & ((1 << KIND_BITS) - 1)));
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Truncated record", e);
+        }
+        if (reader.position() != records.length) {
+            throw new IOException("Truncated record");
+        }
+        recordStarts[records.length] = true;
+
+        for (int offset : roundOffsets) {
+            if (offset < 0 || offset > records.length || !recordStarts[offset]) {
+                throw new IOException("Round starting at " + offset + " outside of the records");
+            }
+        }
+    }
+
+    /**
+     * Growable buffer of encoded records.
+     */
+    static final class Writer {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        int length() {
+            return length;
+        }
+
+        void writeTag(int contextId, int kind) {
+            writeVarint(((long) contextId << KIND_BITS) | kind);
+        }
+
+        void writeInt(int value) {
+            writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+
+        void writeDouble(double value) {
+            ensure(Long.BYTES);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int i = 0; i < Long.BYTES; i++) {
+                bytes[length++] = (byte) (bits >>> (i * Byte.SIZE));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void writeVarint(long value) {
+            ensure(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            bytes[length++] = (byte) remaining;
+        }
+
+        private void ensure(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+            }
+        }
+    }
+
+    /**
+     * Cursor over encoded records.
+     */
+    static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        boolean hasNext() {
+            return position < bytes.length;
+        }
+
+        int position() {
+            return position;
+        }
+
+        void seek(int position) {
+            this.position = position;
+        }
+
+        long readTag() {
+            return readVarint();
+        }
+
+        int readInt() {
+            int zigzag = (int) readVarint();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                bits |= (bytes[position++] & 0xFFL) << (i * Byte.SIZE);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        /**
+         * Skips the value of a record, whose tag has been read.
+         *
+         * @param kind The kind of the record.
+         */
+        void skipValue(int kind) {
+            if (kind == KIND_DOUBLE) {
+                position += Long.BYTES;
+            } else if (kind == KIND_INT) {
+                readVarint();
+            }
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+    }
+}
@@ -35,4 +35,13 @@ public interface DecisionMaker {
      * @return The decided integer value.
      */
     int decideInt(int min, int max, String context);
+
+    /**
+     * Notifies the decision maker, that a competition starts a round. Decisions made afterwards belong to that round. Does nothing by
+     * default.
+     *
+     * @param round The number of the round, starting at 0.
+     */
+    default void roundStarted(int round) {
+    }
 }
@@ -0,0 +1,78 @@
+package edu.kit.kastel.game.decision;
+
+import edu.kit.kastel.game.metrics.BattleMetrics;
+import edu.kit.kastel.game.metrics.BattleMetrics.Decision;
+import edu.kit.kastel.game.metrics.DecisionEvent;
+
+/**
+ * Decision maker, that delegates every decision to another decision maker, counts it in the {@link BattleMetrics} and reports it as a
+ * {@link DecisionEvent} to the flight recorder.
+ *
+ * @author uupyx
+ */
+public final class MeteredDecisionMaker implements DecisionMaker {
+
+    private final DecisionMaker delegate;
+    private final BattleMetrics metrics;
+
+    /**
+     * Creates a metered decision maker.
+     *
+     * @param delegate The decision maker making the actual decisions.
+     * @param metrics The metrics counting the decisions, or null if they are not counted.
+     */
+    public MeteredDecisionMaker(DecisionMaker delegate, BattleMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean decideYesNo(double probability, String context) {
+        if (metrics != null) {
+            metrics.decided(Decision.YES_NO);
+        }
+        DecisionEvent event = new DecisionEvent(Decision.YES_NO, context);
+        event.begin();
+        boolean result = delegate.decideYesNo(probability, context);
+        if (event.shouldCommit()) {
+            event.setResult(result ? 1 : 0);
+            event.commit();
+        }
+        return result;
+    }
+
+    @Override
+    public double decideDouble(double min, double max, String context) {
+        if (metrics != null) {
+            metrics.decided(Decision.DOUBLE);
+        }
+        DecisionEvent event = new DecisionEvent(Decision.DOUBLE, context);
+        event.begin();
+        double result = delegate.decideDouble(min, max, context);
+        if (event.shouldCommit()) {
+            event.setResult(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    @Override
+    public int decideInt(int min, int max, String context) {
+        if (metrics != null) {
+            metrics.decided(Decision.INT);
+        }
+        DecisionEvent event = new DecisionEvent(Decision.INT, context);
+        event.begin();
+        int result = delegate.decideInt(min, max, context);
+        if (event.shouldCommit()) {
+            event.setResult(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        delegate.roundStarted(round);
+    }
+}
@@ -20,6 +20,16 @@ public final class RandomDecisionMaker implements DecisionMaker {
         this.random = new Random(seed);
     }
 
+    /**
+     * Reseeds the random number generator, so the decision maker can be reused for another battle. Afterwards it makes the same decisions
+     * as a new decision maker with the given seed.
+     *
+     * @param seed The new seed.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
     @Override
     public boolean decideYesNo(double probability, String context) {
         return random.nextDouble() * 100 <= probability;
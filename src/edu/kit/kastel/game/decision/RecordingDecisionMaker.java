@@ -0,0 +1,87 @@
+package edu.kit.kastel.game.decision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decision maker, that delegates every decision to another decision maker and records its outcome in a {@link DecisionLog}. The log can
+ * later be replayed with {@link ReplayDecisionMaker}, independent of any seed or random generator.
+ *
+ * @author uupyx
+ */
+public final class RecordingDecisionMaker implements DecisionMaker {
+
+    private final DecisionMaker delegate;
+    private final DecisionLog.Writer writer = new DecisionLog.Writer();
+    private final Map<String, Integer> contextIds = new HashMap<>();
+    private final List<String> contexts = new ArrayList<>();
+    private int[] rounds = new int[16];
+    private int[] roundOffsets = new int[16];
+    private int roundCount;
+
+    /**
+     * Creates a recording decision maker.
+     *
+     * @param delegate The decision maker making the actual decisions.
+     */
+    public RecordingDecisionMaker(DecisionMaker delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean decideYesNo(double probability, String context) {
+        boolean result = delegate.decideYesNo(probability, context);
+        writer.writeTag(contextId(context), result ? DecisionLog.KIND_YES : DecisionLog.KIND_NO);
+        return result;
+    }
+
+    @Override
+    public double decideDouble(double min, double max, String context) {
+        double result = delegate.decideDouble(min, max, context);
+        writer.writeTag(contextId(context), DecisionLog.KIND_DOUBLE);
+        writer.writeDouble(result);
+        return result;
+    }
+
+    @Override
+    public int decideInt(int min, int max, String context) {
+        int result = delegate.decideInt(min, max, context);
+        writer.writeTag(contextId(context), DecisionLog.KIND_INT);
+        writer.writeInt(result);
+        return result;
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        if (roundCount == rounds.length) {
+            rounds = Arrays.copyOf(rounds, roundCount * 2);
+            roundOffsets = Arrays.copyOf(roundOffsets, roundCount * 2);
+        }
+        rounds[roundCount] = round;
+        roundOffsets[roundCount] = writer.length();
+        roundCount++;
+        delegate.roundStarted(round);
+    }
+
+    /**
+     * Creates a log of all decisions recorded so far.
+     *
+     * @return The log.
+     */
+    public DecisionLog toLog() {
+        return new DecisionLog(contexts, writer.toByteArray(), Arrays.copyOf(rounds, roundCount), Arrays.copyOf(roundOffsets, roundCount));
+    }
+
+    private int contextId(String context) {
+        Integer id = contextIds.get(context);
+        if (id == null) {
+            id = contexts.size();
+            contexts.add(context);
+            contextIds.put(context, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,135 @@
+package edu.kit.kastel.game.decision;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decision maker, that replays the outcomes of a {@link DecisionLog} instead of deciding anything.
+ * <p>
+ * Every context is replayed on its own: a decision returns the next recorded outcome of the same context. Decisions with different
+ * contexts may therefore be requested in a different order than they were recorded, as long as the order within each context is the
+ * same. A decision, whose context has no outcome left or whose recorded kind does not match, fails with a {@link ReplayDivergedException}.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class ReplayDecisionMaker implements DecisionMaker {
+
+    private final DecisionLog log;
+    private final DecisionLog.Reader reader;
+    private final Map<String, Integer> contextIds = new HashMap<>();
+
+    // Offsets of all records per context, in recording order, and the next record to replay per context
+    private final int[][] offsets;
+    private final int[] counts;
+    private final int[] cursors;
+
+    /**
+     * Creates a replaying decision maker positioned at the first recorded decision.
+     *
+     * @param log The log to replay.
+     */
+    public ReplayDecisionMaker(DecisionLog log) {
+        this.log = log;
+        this.reader = new DecisionLog.Reader(log.records(), 0);
+        int contextCount = log.contexts().size();
+        this.offsets = new int[contextCount][];
+        this.counts = new int[contextCount];
+        this.cursors = new int[contextCount];
+
+        for (int i = 0; i < contextCount; i++) {
+            offsets[i] = new int[8];
+            contextIds.put(log.contexts().get(i), i);
+        }
+        while (reader.hasNext()) {
+            int offset = reader.position();
+            long tag = reader.readTag();
+            int context = (int) (tag >>> DecisionLog.KIND_BITS);
+            int kind = (int) (tag & ((1 << DecisionLog.KIND_BITS) - 1));
+            reader.skipValue(kind);
+
+            if (counts[context] == offsets[context].length) {
+                offsets[context] = Arrays.copyOf(offsets[context], counts[context] * 2);
+            }
+            offsets[context][counts[context]++] = offset;
+        }
+    }
+
+    /**
+     * Moves every context to its first decision at or after the start of the given round. Rounds are searched in recording order,
+     * starting at the earliest position any context has not replayed yet, so a log of several competitions is sought through one
+     * competition after the other.
+     *
+     * @param round The round number.
+     * @return True if the round was found, false if it was never started after the current position.
+     */
+    public boolean seekRound(int round) {
+        int position = Integer.MAX_VALUE;
+        for (int context = 0; context < cursors.length; context++) {
+            if (cursors[context] < counts[context]) {
+                position = Math.min(position, offsets[context][cursors[context]]);
+            }
+        }
+
+        for (int entry = 0; entry < log.roundCount(); entry++) {
+            if (log.round(entry) == round && log.roundOffset(entry) >= Math.min(position, log.size())) {
+                seek(log.roundOffset(entry));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean decideYesNo(double probability, String context) {
+        int kind = next(context);
+        if (kind != DecisionLog.KIND_YES && kind != DecisionLog.KIND_NO) {
+            throw diverged(context);
+        }
+        return kind == DecisionLog.KIND_YES;
+    }
+
+    @Override
+    public double decideDouble(double min, double max, String context) {
+        if (next(context) != DecisionLog.KIND_DOUBLE) {
+            throw diverged(context);
+        }
+        return reader.readDouble();
+    }
+
+    @Override
+    public int decideInt(int min, int max, String context) {
+        if (next(context) != DecisionLog.KIND_INT) {
+            throw diverged(context);
+        }
+        return reader.readInt();
+    }
+
+    private void seek(int position) {
+        for (int context = 0; context < cursors.length; context++) {
+            int index = Arrays.binarySearch(offsets[context], 0, counts[context], position);
+            cursors[context] = index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * Positions the reader at the value of the next record of a context.
+     *
+     * @param context The context of the decision.
+     * @return The kind of the record.
+     */
+    private int next(String context) {
+        Integer id = contextIds.get(context);
+        if (id == null || cursors[id] >= counts[id]) {
+            throw diverged(context);
+        }
+
+        reader.seek(offsets[id][cursors[id]++]);
+        return (int) (reader.readTag() & ((1 << DecisionLog.KIND_BITS) - 1));
+    }
+
+    private static ReplayDivergedException diverged(String context) {
+        return new ReplayDivergedException(context);
+    }
+}
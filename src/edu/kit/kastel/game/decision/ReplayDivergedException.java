@@ -0,0 +1,20 @@
+package edu.kit.kastel.game.decision;
+
+/**
+ * Exception thrown by a {@link ReplayDecisionMaker}, when a decision is requested, that the replayed log does not contain.
+ *
+ * @author uupyx
+ */
+public final class ReplayDivergedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an exception for a decision, that cannot be replayed.
+     *
+     * @param context The context of the decision.
+     */
+    public ReplayDivergedException(String context) {
+        super("replay diverged from the log at a decision of " + context);
+    }
+}
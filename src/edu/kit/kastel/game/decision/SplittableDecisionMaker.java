@@ -0,0 +1,134 @@
+package edu.kit.kastel.game.decision;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Random decision maker for series of battles, built on the {@link RandomGenerator} algorithms of the JDK. Every battle of a series gets
+ * its own stream, that only depends on the seed of the series and the index of the battle. Battles can therefore run in any order and on
+ * any number of threads with identical results, and no generator is shared between threads.
+ * <p>
+ * Decisions are made the same way as by {@link RandomDecisionMaker}, only the underlying generator differs.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class SplittableDecisionMaker implements DecisionMaker {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+    private final long seed;
+    private final byte[] stateSeed;
+    private RandomGenerator random;
+
+    /**
+     * Creates a decision maker positioned at the first battle of the series.
+     *
+     * @param algorithm The generator algorithm.
+     * @param seed The seed of the whole series.
+     * @throws IllegalArgumentException If the algorithm is not available in this runtime.
+     */
+    public SplittableDecisionMaker(Algorithm algorithm, long seed) {
+        this.factory = RandomGeneratorFactory.of(algorithm.getName());
+        this.seed = seed;
+        this.stateSeed = new byte[Math.max(Long.BYTES, factory.stateBits() / Byte.SIZE)];
+        startBattle(0);
+    }
+
+    /**
+     * Switches to the stream of the given battle. Afterwards this decision maker makes the same decisions as any other one of the same
+     * algorithm and seed, that switched to the same battle.
+     *
+     * @param index The index of the battle in the series.
+     */
+    public void startBattle(long index) {
+        // Fills the whole generator state from a SplitMix64 sequence, which starts at a mix of the series seed and the battle index
+        long z = mix(seed + (index + 1) * GOLDEN_GAMMA);
+        for (int i = 0; i < stateSeed.length; i += Long.BYTES) {
+            z += GOLDEN_GAMMA;
+            long value = mix(z);
+            for (int b = 0; b < Long.BYTES && i + b < stateSeed.length; b++) {
+                stateSeed[i + b] = (byte) (value >>> (b * Byte.SIZE));
+            }
+        }
+        random = factory.create(stateSeed);
+    }
+
+    @Override
+    public boolean decideYesNo(double probability, String context) {
+        return random.nextDouble() * 100 <= probability;
+    }
+
+    @Override
+    public double decideDouble(double min, double max, String context) {
+        return random.nextDouble() * (max - min) + min;
+    }
+
+    @Override
+    public int decideInt(int min, int max, String context) {
+        return random.nextInt(max - min + 1) + min;
+    }
+
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The generator algorithms, that can be selected.
+     *
+     * @author uupyx
+     */
+    public enum Algorithm {
+        /**
+         * LXM generator with a 64-bit LCG and a 128-bit xorshift part. The default.
+         */
+        L64X128("L64X128MixRandom"),
+        /**
+         * LXM generator with a 64-bit LCG and a 256-bit xorshift part.
+         */
+        L64X256("L64X256MixRandom"),
+        /**
+         * LXM generator with a 128-bit LCG and a 256-bit xorshift part.
+         */
+        L128X256("L128X256MixRandom"),
+        /**
+         * Xoshiro generator with a 256-bit state.
+         */
+        XOSHIRO256("Xoshiro256PlusPlus");
+
+        private final String name;
+
+        Algorithm(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the name of the algorithm as known to {@link RandomGeneratorFactory}.
+         *
+         * @return The algorithm name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Finds an algorithm by its constant name, ignoring the case.
+         *
+         * @param value The name, e.g. {@code xoshiro256}.
+         * @return The algorithm, or null if there is none with that name.
+         */
+        public static Algorithm fromString(String value) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.name().equals(value.toUpperCase(Locale.ROOT))) {
+                    return algorithm;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.kit.kastel.game.engine;
+
+import java.util.List;
+
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+
+/**
+ * Decides which action a monster performs during Phase I of a headless competition. Replaces the {@code action} and {@code pass} commands
+ * of an interactive session.
+ *
+ * @author uupyx
+ */
+public interface ActionPolicy {
+
+    /**
+     * Chooses the action and target for the selecting monster.
+     *
+     * @param competition The competition the monster takes part in.
+     * @param monster The monster that has to select an action.
+     * @param decisionMaker The decision maker of the competition, for policies that need randomness.
+     * @return The chosen action and target, or {@link Choice#PASS} to pass.
+     */
+    Choice choose(Competition competition, MonsterStatus monster, DecisionMaker decisionMaker);
+
+    /**
+     * Chooses uniformly among the monster's actions and its non-fainted opponents.
+     *
+     * @return A random action policy.
+     */
+    static ActionPolicy random() {
+        return (competition, monster, decisionMaker) -> {
+            List<Action> actions = monster.getMonster().actions();
+            List<MonsterStatus> opponents = competition.getOpponents(monster);
+            if (actions.isEmpty() || opponents.isEmpty()) {
+                return Choice.PASS;
+            }
+
+            Action action = actions.get(decisionMaker.decideInt(0, actions.size() - 1, "policy action"));
+            MonsterStatus target = opponents.get(decisionMaker.decideInt(0, opponents.size() - 1, "policy target"));
+            return new Choice(action, target);
+        };
+    }
+
+    /**
+     * Always passes.
+     *
+     * @return A passing action policy.
+     */
+    static ActionPolicy passing() {
+        return (competition, monster, decisionMaker) -> Choice.PASS;
+    }
+
+    /**
+     * An action together with its target.
+     *
+     * @param action The action to perform, or null to pass.
+     * @param target The target of the action.
+     */
+    record Choice(Action action, MonsterStatus target) {
+
+        /** Passes the turn. */
+        public static final Choice PASS = new Choice(null, null);
+    }
+}
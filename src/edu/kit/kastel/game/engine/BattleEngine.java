@@ -0,0 +1,149 @@
+package edu.kit.kastel.game.engine;
+
+import java.util.List;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.console.Terminal;
+import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.decision.RandomDecisionMaker;
+import edu.kit.kastel.game.model.Monster;
+import edu.kit.kastel.game.model.status.MonsterStatus;
+
+/**
+ * Runs complete battles without any user interaction. Action selection is delegated to an {@link ActionPolicy} per monster instead of
+ * console commands. Battles created by the engine write no output.
+ *
+ * @author uupyx
+ */
+public final class BattleEngine {
+
+    /** Default limit of rounds, after which a battle counts as a draw. */
+    public static final int DEFAULT_MAX_ROUNDS = 1000;
+
+    private final Config config;
+    private final int maxRounds;
+
+    /**
+     * Creates an engine for the given configuration with the default round limit.
+     *
+     * @param config The configuration providing the monsters.
+     */
+    public BattleEngine(Config config) {
+        this(config, DEFAULT_MAX_ROUNDS);
+    }
+
+    /**
+     * Creates an engine for the given configuration.
+     *
+     * @param config The configuration providing the monsters.
+     * @param maxRounds The number of rounds after which an undecided battle is stopped.
+     */
+    public BattleEngine(Config config, int maxRounds) {
+        this.config = config;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Gets the configuration of this engine.
+     *
+     * @return The configuration.
+     */
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Resolves monster names against the configuration.
+     *
+     * @param monsterNames The names of the monsters.
+     * @return The monsters, in the same order.
+     * @throws IllegalArgumentException If a monster does not exist.
+     */
+    public Monster[] lineup(List<String> monsterNames) {
+        Monster[] monsters = new Monster[monsterNames.size()];
+        for (int i = 0; i < monsters.length; i++) {
+            monsters[i] = config.monsters().get(monsterNames.get(i));
+            if (monsters[i] == null) {
+                throw new IllegalArgumentException("Monster " + monsterNames.get(i) + " does not exist");
+            }
+        }
+        return monsters;
+    }
+
+    /**
+     * Runs a battle between the named monsters with a seeded random decision maker.
+     *
+     * @param monsterNames The names of the monsters entering the competition.
+     * @param policies The action policy of each monster, in the same order.
+     * @param seed The seed for all random decisions of the battle.
+     * @return The result of the battle.
+     * @throws IllegalArgumentException If a monster does not exist or the number of policies does not match.
+     */
+    public BattleResult run(List<String> monsterNames, List<ActionPolicy> policies, long seed) {
+        return run(lineup(monsterNames), policies.toArray(new ActionPolicy[0]), new RandomDecisionMaker(seed));
+    }
+
+    /**
+     * Runs a battle between the given monsters.
+     *
+     * @param monsters The monsters entering the competition.
+     * @param policies The action policy of each monster, in the same order.
+     * @param decisionMaker The decision maker for all random decisions of the battle.
+     * @return The result of the battle.
+     * @throws IllegalArgumentException If the number of policies does not match.
+     */
+    public BattleResult run(Monster[] monsters, ActionPolicy[] policies, DecisionMaker decisionMaker) {
+        return run(new Competition(monsters, decisionMaker, Terminal.DISCARD), policies, decisionMaker);
+    }
+
+    /**
+     * Plays an existing competition until it ends or reaches the round limit. Together with {@link Competition#reset()} this lets a
+     * series of battles between the same lineup reuse all monster states.
+     *
+     * @param competition The competition to play, usually freshly created or reset.
+     * @param policies The action policy of each monster, in lineup order.
+     * @param decisionMaker The decision maker the competition was created with.
+     * @return The result of the battle.
+     * @throws IllegalArgumentException If the number of policies does not match.
+     */
+    public BattleResult run(Competition competition, ActionPolicy[] policies, DecisionMaker decisionMaker) {
+        if (policies.length != competition.getMonsters().size()) {
+            throw new IllegalArgumentException("Expected " + competition.getMonsters().size() + " policies, got " + policies.length);
+        }
+
+        while (true) {
+            competition.step();
+            if (competition.isFinished() || competition.getRound() >= maxRounds) {
+                break;
+            }
+
+            int index = competition.getSelectingMonsterIndex();
+            if (index == -1) {
+                continue;
+            }
+            MonsterStatus monster = competition.getMonsters().get(index);
+            ActionPolicy.Choice choice = policies[index].choose(competition, monster, decisionMaker);
+            competition.select(choice.action(), choice.target());
+        }
+
+        return result(competition);
+    }
+
+    private static BattleResult result(Competition competition) {
+        List<MonsterStatus> monsters = competition.getMonsters();
+        int[] remainingHealth = new int[monsters.size()];
+        int winnerIndex = -1;
+        for (int i = 0; i < remainingHealth.length; i++) {
+            remainingHealth[i] = monsters.get(i).getHealth();
+        }
+
+        MonsterStatus winner = competition.getWinner();
+        if (winner != null) {
+            winnerIndex = monsters.indexOf(winner);
+        }
+
+        return new BattleResult(winnerIndex, winner == null ? null : winner.getMonster().name(), competition.getRound(), remainingHealth,
+                competition.isFinished());
+    }
+}
@@ -0,0 +1,24 @@
+package edu.kit.kastel.game.engine;
+
+/**
+ * The outcome of a single headless battle.
+ *
+ * @param winnerIndex The index of the winning monster in the lineup, or -1 if there is no winner.
+ * @param winnerName The display name of the winning monster, or null if there is no winner.
+ * @param rounds The number of fully executed rounds.
+ * @param remainingHealth The remaining health of each monster, in lineup order.
+ * @param finished False if the battle was stopped by the round limit before it was decided.
+ *
+ * @author uupyx
+ */
+public record BattleResult(int winnerIndex, String winnerName, int rounds, int[] remainingHealth, boolean finished) {
+
+    /**
+     * Checks whether the battle ended without a winner, either because all monsters fainted or because the round limit was reached.
+     *
+     * @return True if there is no winner.
+     */
+    public boolean isDraw() {
+        return winnerIndex == -1;
+    }
+}
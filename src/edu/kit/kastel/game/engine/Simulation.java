@@ -0,0 +1,276 @@
+package edu.kit.kastel.game.engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.kit.kastel.config.Config;
+import edu.kit.kastel.config.ConfigCache;
+import edu.kit.kastel.config.ConfigLoader;
+import edu.kit.kastel.config.ParallelParser;
+import edu.kit.kastel.config.PositionException;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.ai.ExpectiminimaxPolicy;
+import edu.kit.kastel.game.ai.MctsPolicy;
+import edu.kit.kastel.game.ai.SearchBudget;
+import edu.kit.kastel.game.console.Console;
+import edu.kit.kastel.game.console.Message;
+import edu.kit.kastel.game.console.Terminal;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker.Algorithm;
+import edu.kit.kastel.game.model.Monster;
+
+/**
+ * Batch modes, that run many seeded battles with random action policies and print a summary. Battle output is discarded while the
+ * battles run. Both modes accept the option {@code --rng=<algorithm>} anywhere after the mode to select the generator algorithm of the
+ * {@link SplittableDecisionMaker}. The simulation mode also accepts {@code --mcts=<position>}, which lets the monster at that position of
+ * the lineup, starting at 1, be played by an {@link MctsPolicy}, and {@code --mcts-iterations=<iterations>}, which gives that policy a
+ * fixed number of iterations per decision instead of its default time budget. With a time budget the policy searches on all cores, so its
+ * results depend on the machine; with an iteration budget it searches on a single thread, so seeded runs stay reproducible. Between two
+ * monsters, {@code --expectiminimax=<position>} lets a monster be played by an {@link ExpectiminimaxPolicy}, that searches
+ * {@code --expectiminimax-depth=<rounds>} ahead.
+ *
+ * @author uupyx
+ */
+public final class Simulation {
+
+    /** Name of the command line mode running battles between fixed monsters. */
+    public static final String MODE = "simulate";
+
+    /** Name of the command line mode running a round-robin tournament. */
+    public static final String TOURNAMENT_MODE = "tournament";
+
+    private static final int FIRST_MONSTER_ARG = 4;
+    private static final String OPTION_PREFIX = "--";
+    private static final String ALGORITHM_OPTION = "--rng=";
+    private static final String MCTS_OPTION = "--mcts=";
+    private static final String MCTS_ITERATIONS_OPTION = "--mcts-iterations=";
+    private static final String EXPECTIMINIMAX_OPTION = "--expectiminimax=";
+    private static final String EXPECTIMINIMAX_DEPTH_OPTION = "--expectiminimax-depth=";
+
+    private Simulation() {
+    }
+
+    /**
+     * Runs the simulation mode.
+     *
+     * @param commandLine Command-line arguments: {@code simulate <config> <battles> <seed> <monster> <monster> [monster...]}
+     */
+    public static void run(String[] commandLine) {
+        Algorithm algorithm = algorithm(commandLine);
+        String[] args = positional(commandLine);
+        if (algorithm == null || args.length < FIRST_MONSTER_ARG + 2) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        int battles;
+        long seed;
+        boolean[] searching = new boolean[args.length - FIRST_MONSTER_ARG];
+        boolean[] expecting = new boolean[searching.length];
+        SearchBudget budget = SearchBudget.time(MctsPolicy.DEFAULT_TIME_MILLIS);
+        int depth = ExpectiminimaxPolicy.DEFAULT_DEPTH;
+        ExpectiminimaxPolicy expectiminimax = null;
+        try {
+            battles = Integer.parseInt(args[2]);
+            seed = Long.parseLong(args[3]);
+            for (String arg : commandLine) {
+                if (arg.startsWith(MCTS_OPTION)) {
+                    searching[Integer.parseInt(arg.substring(MCTS_OPTION.length())) - 1] = true;
+                } else if (arg.startsWith(MCTS_ITERATIONS_OPTION)) {
+                    budget = SearchBudget.iterations(Integer.parseInt(arg.substring(MCTS_ITERATIONS_OPTION.length())));
+                } else if (arg.startsWith(EXPECTIMINIMAX_OPTION) && expecting.length == 2) {
+                    expecting[Integer.parseInt(arg.substring(EXPECTIMINIMAX_OPTION.length())) - 1] = true;
+                } else if (arg.startsWith(EXPECTIMINIMAX_OPTION)) {
+                    throw new IllegalArgumentException("Expectiminimax needs exactly two monsters");
+                } else if (arg.startsWith(EXPECTIMINIMAX_DEPTH_OPTION)) {
+                    depth = Integer.parseInt(arg.substring(EXPECTIMINIMAX_DEPTH_OPTION.length()));
+                }
+            }
+            if (expecting.length == 2 && (expecting[0] || expecting[1])) {
+                expectiminimax = new ExpectiminimaxPolicy(depth, ExpectiminimaxPolicy.DEFAULT_TABLE_BITS);
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        Config config = loadConfig(args[1]);
+        if (config == null) {
+            return;
+        }
+
+        BattleEngine engine = new BattleEngine(config);
+        Monster[] monsters = new Monster[args.length - FIRST_MONSTER_ARG];
+        for (int i = 0; i < monsters.length; i++) {
+            monsters[i] = config.monsters().get(args[FIRST_MONSTER_ARG + i]);
+            if (monsters[i] == null) {
+                Console.writeMessage(Message.ERROR_MONSTER_EXIST, args[FIRST_MONSTER_ARG + i]);
+                return;
+            }
+        }
+
+        ActionPolicy[] policies = new ActionPolicy[monsters.length];
+        Arrays.fill(policies, ActionPolicy.random());
+        MctsPolicy search = null;
+        for (int i = 0; i < policies.length; i++) {
+            if (searching[i]) {
+                if (search == null) {
+                    // Workers share the iteration count, so only a single worker searches deterministically
+                    int workers = budget.iterations() > 0 ? 1 : Runtime.getRuntime().availableProcessors();
+                    search = new MctsPolicy(budget, workers, seed);
+                }
+                policies[i] = search;
+            } else if (expecting[i]) {
+                policies[i] = expectiminimax;
+            }
+        }
+
+        int[] wins = new int[monsters.length];
+        String[] names = new String[monsters.length];
+        int draws = 0;
+        long rounds = 0;
+
+        SplittableDecisionMaker decisionMaker = new SplittableDecisionMaker(algorithm, seed);
+        Competition competition = new Competition(monsters, decisionMaker, Terminal.DISCARD);
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < battles; i++) {
+                decisionMaker.startBattle(i);
+                competition.reset();
+                BattleResult result = engine.run(competition, policies, decisionMaker);
+                if (result.isDraw()) {
+                    draws++;
+                } else {
+                    wins[result.winnerIndex()]++;
+                    names[result.winnerIndex()] = result.winnerName();
+                }
+                rounds += result.rounds();
+            }
+        } finally {
+            if (search != null) {
+                search.close();
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        Console.writeMessage(Message.SIMULATION_SUMMARY, battles, millis, millis == 0 ? battles * 1000L : battles * 1000L / millis);
+        for (int i = 0; i < monsters.length; i++) {
+            Console.writeMessage(Message.SIMULATION_WINS, names[i] != null ? names[i] : monsters[i].name(), wins[i]);
+        }
+        Console.writeMessage(Message.SIMULATION_DRAWS, draws);
+        Console.writeMessage(Message.SIMULATION_ROUNDS, battles == 0 ? 0.0 : (double) rounds / battles);
+    }
+
+    /**
+     * Runs the tournament mode on all available cores and prints every cell of the win/draw/loss matrix.
+     *
+     * @param commandLine Command-line arguments: {@code tournament <config> <battlesPerMatchup> <seed> [tupleSize]}
+     */
+    public static void runTournament(String[] commandLine) {
+        Algorithm algorithm = algorithm(commandLine);
+        String[] args = positional(commandLine);
+        if (algorithm == null || args.length != FIRST_MONSTER_ARG && args.length != FIRST_MONSTER_ARG + 1) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        int battles;
+        long seed;
+        int tupleSize;
+        try {
+            battles = Integer.parseInt(args[2]);
+            seed = Long.parseLong(args[3]);
+            tupleSize = args.length > FIRST_MONSTER_ARG ? Integer.parseInt(args[FIRST_MONSTER_ARG]) : 2;
+        } catch (NumberFormatException e) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        Config config = loadConfig(args[1]);
+        if (config == null) {
+            return;
+        }
+
+        Tournament tournament;
+        try {
+            tournament = new Tournament(new BattleEngine(config), tupleSize, battles, seed, algorithm);
+        } catch (IllegalArgumentException e) {
+            Console.writeMessage(Message.ERROR_WRONG_ARGS);
+            return;
+        }
+
+        long start = System.nanoTime();
+        TournamentResult result;
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            result = tournament.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        Console.writeMessage(Message.SIMULATION_SUMMARY, result.battles(), millis,
+                millis == 0 ? result.battles() * 1000L : result.battles() * 1000L / millis);
+        for (int row = 0; row < result.size(); row++) {
+            for (int column = 0; column < result.size(); column++) {
+                if (row == column) {
+                    continue;
+                }
+                TournamentResult.Interval interval = result.confidenceInterval(row, column);
+                Console.writeMessage(Message.TOURNAMENT_PAIR, result.names().get(row), result.names().get(column),
+                        result.wins(row, column), result.draws(row, column), result.losses(row, column),
+                        result.winRate(row, column) * 100, interval.low() * 100, interval.high() * 100);
+            }
+        }
+    }
+
+    /**
+     * Gets the generator algorithm selected on the command line.
+     *
+     * @param args The command-line arguments.
+     * @return The selected algorithm, the default one if none was selected, or null if the selection is invalid.
+     */
+    private static Algorithm algorithm(String[] args) {
+        Algorithm algorithm = Algorithm.L64X128;
+        for (String arg : args) {
+            if (arg.startsWith(ALGORITHM_OPTION)) {
+                algorithm = Algorithm.fromString(arg.substring(ALGORITHM_OPTION.length()));
+                if (algorithm == null) {
+                    return null;
+                }
+            }
+        }
+        return algorithm;
+    }
+
+    private static String[] positional(String[] args) {
+        List<String> positional = new ArrayList<>(args.length);
+        for (String arg : args) {
+            if (!arg.startsWith(OPTION_PREFIX)) {
+                positional.add(arg);
+            }
+        }
+        return positional.toArray(new String[0]);
+    }
+
+    /**
+     * Reads and parses a configuration file without echoing it, or takes it from its {@link ConfigCache} if the file is unchanged.
+     *
+     * @param path Path to the configuration file.
+     * @return The configuration, or null if it could not be loaded. An error message has been written in that case.
+     */
+    public static Config loadConfig(String path) {
+        try {
+            return ConfigLoader.load(path, new ParallelParser(ForkJoinPool.commonPool())::parse, null);
+        } catch (IOException e) {
+            Console.writeMessage(Message.ERROR_CONFIG);
+        } catch (PositionException e) {
+            Console.writeMessage(Message.ERROR, e.getMessage());
+        }
+        return null;
+    }
+}
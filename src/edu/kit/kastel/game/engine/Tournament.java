@@ -0,0 +1,239 @@
+package edu.kit.kastel.game.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.console.Terminal;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker;
+import edu.kit.kastel.game.decision.SplittableDecisionMaker.Algorithm;
+import edu.kit.kastel.game.model.Monster;
+
+/**
+ * Round-robin tournament over all monsters of a configuration. Every k-tuple of distinct monsters fights a fixed number of seeded battles
+ * with random action policies, spread across a fork-join pool.
+ * <p>
+ * Battles are numbered by matchup and repetition, and each battle draws from its own random stream derived from that number. The result
+ * is therefore the same for any pool size and any work split, and every task owns its generator. Every task reuses one competition per
+ * matchup and resets it between battles. Battles write no output, so they run concurrently without sharing a terminal.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class Tournament {
+
+    // Upper bound of tasks per worker thread, small enough to keep the splitting overhead negligible
+    private static final int TASKS_PER_THREAD = 16;
+
+    private final BattleEngine engine;
+    private final List<Monster> entries;
+    private final int tupleSize;
+    private final int battlesPerMatchup;
+    private final long seed;
+    private final Algorithm algorithm;
+
+    /**
+     * Creates a tournament over all monsters of the engine's configuration.
+     *
+     * @param engine The engine running the battles.
+     * @param tupleSize The number of monsters per battle, at least 2.
+     * @param battlesPerMatchup The number of battles every tuple fights.
+     * @param seed The seed of the whole tournament.
+     * @param algorithm The generator algorithm of the random streams.
+     * @throws IllegalArgumentException If the tuple size does not fit the number of monsters.
+     */
+    public Tournament(BattleEngine engine, int tupleSize, int battlesPerMatchup, long seed, Algorithm algorithm) {
+        this.engine = engine;
+        this.entries = new ArrayList<>(engine.getConfig().monsters().values());
+        this.tupleSize = tupleSize;
+        this.battlesPerMatchup = battlesPerMatchup;
+        this.seed = seed;
+        this.algorithm = algorithm;
+
+        if (tupleSize < 2 || tupleSize > entries.size()) {
+            throw new IllegalArgumentException("Tuple size must be between 2 and " + entries.size());
+        }
+    }
+
+    /**
+     * Gets the number of distinct matchups, which is the number of tuples.
+     *
+     * @return The number of matchups.
+     */
+    public long matchups() {
+        return binomial(entries.size(), tupleSize);
+    }
+
+    /**
+     * Runs all battles of the tournament on the given pool.
+     *
+     * @param pool The pool executing the battles.
+     * @return The pairwise result matrix.
+     */
+    public TournamentResult run(ForkJoinPool pool) {
+        int size = entries.size();
+        AtomicLongArray wins = new AtomicLongArray(size * size);
+        AtomicLongArray neither = new AtomicLongArray(size * size);
+        long total = Math.multiplyExact(matchups(), (long) battlesPerMatchup);
+
+        long grain = Math.max(1, total / ((long) pool.getParallelism() * TASKS_PER_THREAD));
+        pool.invoke(new BattleTask(0, total, grain, wins, neither));
+
+        List<String> names = new ArrayList<>(size);
+        for (Monster monster : entries) {
+            names.add(monster.name());
+        }
+        return new TournamentResult(names, wins, neither, total);
+    }
+
+    /**
+     * Runs a contiguous range of battles and adds their outcomes to the shared counters.
+     */
+    private final class BattleTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final long grain;
+        private final AtomicLongArray wins;
+        private final AtomicLongArray neither;
+
+        BattleTask(long from, long to, long grain, AtomicLongArray wins, AtomicLongArray neither) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.wins = wins;
+            this.neither = neither;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                long middle = (from + to) >>> 1;
+                invokeAll(new BattleTask(from, middle, grain, wins, neither), new BattleTask(middle, to, grain, wins, neither));
+                return;
+            }
+
+            int[] tuple = new int[tupleSize];
+            unrank(from / battlesPerMatchup, entries.size(), tuple);
+            Monster[] lineup = new Monster[tupleSize];
+            ActionPolicy[] policies = new ActionPolicy[tupleSize];
+            Arrays.fill(policies, ActionPolicy.random());
+            fillLineup(tuple, lineup);
+            SplittableDecisionMaker decisionMaker = new SplittableDecisionMaker(algorithm, seed);
+            Competition competition = new Competition(lineup, decisionMaker, Terminal.DISCARD);
+
+            // Outcomes are collected per matchup and flushed once, so the shared counters see little contention
+            long[] localWins = new long[tupleSize];
+            long localBattles = 0;
+            long repetition = from % battlesPerMatchup;
+
+            for (long battle = from; battle < to; battle++) {
+                decisionMaker.startBattle(battle);
+                competition.reset();
+                BattleResult result = engine.run(competition, policies, decisionMaker);
+                if (!result.isDraw()) {
+                    localWins[result.winnerIndex()]++;
+                }
+                localBattles++;
+
+                if (++repetition == battlesPerMatchup) {
+                    flush(tuple, localWins, localBattles);
+                    Arrays.fill(localWins, 0);
+                    localBattles = 0;
+                    repetition = 0;
+                    if (battle + 1 < to) {
+                        nextCombination(tuple, entries.size());
+                        fillLineup(tuple, lineup);
+                        competition = new Competition(lineup, decisionMaker, Terminal.DISCARD);
+                    }
+                }
+            }
+
+            if (localBattles > 0) {
+                flush(tuple, localWins, localBattles);
+            }
+        }
+
+        private void fillLineup(int[] tuple, Monster[] lineup) {
+            for (int i = 0; i < tuple.length; i++) {
+                lineup[i] = entries.get(tuple[i]);
+            }
+        }
+
+        private void flush(int[] tuple, long[] localWins, long localBattles) {
+            int size = entries.size();
+            for (int a = 0; a < tuple.length; a++) {
+                for (int b = 0; b < tuple.length; b++) {
+                    if (a == b) {
+                        continue;
+                    }
+                    int cell = tuple[a] * size + tuple[b];
+                    wins.addAndGet(cell, localWins[a]);
+                    neither.addAndGet(cell, localBattles - localWins[a] - localWins[b]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the combination with the given lexicographic rank.
+     *
+     * @param rank The rank of the combination.
+     * @param n The number of elements to choose from.
+     * @param out Receives the ascending element indices; its length is the combination size.
+     */
+    static void unrank(long rank, int n, int[] out) {
+        long remaining = rank;
+        int element = 0;
+        for (int i = 0; i < out.length; i++) {
+            while (true) {
+                long count = binomial(n - element - 1, out.length - i - 1);
+                if (remaining < count) {
+                    break;
+                }
+                remaining -= count;
+                element++;
+            }
+            out[i] = element++;
+        }
+    }
+
+    /**
+     * Advances to the next combination in lexicographic order.
+     *
+     * @param tuple The current combination, updated in place.
+     * @param n The number of elements to choose from.
+     */
+    static void nextCombination(int[] tuple, int n) {
+        int k = tuple.length;
+        int i = k - 1;
+        while (i >= 0 && tuple[i] == n - k + i) {
+            i--;
+        }
+        if (i < 0) {
+            return;
+        }
+        tuple[i]++;
+        for (int j = i + 1; j < k; j++) {
+            tuple[j] = tuple[j - 1] + 1;
+        }
+    }
+
+    private static long binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        int r = Math.min(k, n - k);
+        long result = 1;
+        for (int i = 1; i <= r; i++) {
+            result = Math.multiplyExact(result, (long) (n - r + i)) / i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package edu.kit.kastel.game.engine;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pairwise outcome matrix of a round-robin tournament. Cell {@code (i, j)} counts the battles that entries {@code i} and {@code j} took
+ * part in together: a win if {@code i} won, a loss if {@code j} won, and a draw if neither of them won.
+ *
+ * @author uupyx
+ */
+public final class TournamentResult {
+
+    /** Z-score of the two-sided 95% confidence level. */
+    private static final double Z_95 = 1.959963984540054;
+
+    private final List<String> names;
+    private final int size;
+    private final AtomicLongArray wins;
+    private final AtomicLongArray neither;
+    private final long battles;
+
+    /**
+     * Creates a result over the given counters.
+     *
+     * @param names The names of the entries, in matrix order.
+     * @param wins Row-major counters of battles, in which the row entry won against the column entry.
+     * @param neither Row-major counters of battles with both entries, that neither of them won.
+     * @param battles The total number of battles.
+     */
+    TournamentResult(List<String> names, AtomicLongArray wins, AtomicLongArray neither, long battles) {
+        this.names = List.copyOf(names);
+        this.size = names.size();
+        this.wins = wins;
+        this.neither = neither;
+        this.battles = battles;
+    }
+
+    /**
+     * Gets the names of the entries in matrix order.
+     *
+     * @return The names.
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Gets the number of entries, which is the dimension of the matrix.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the total number of battles of the tournament.
+     *
+     * @return The number of battles.
+     */
+    public long battles() {
+        return battles;
+    }
+
+    /**
+     * Gets the number of battles between both entries, that {@code row} won.
+     *
+     * @param row The index of the first entry.
+     * @param column The index of the second entry.
+     * @return The number of wins.
+     */
+    public long wins(int row, int column) {
+        return wins.get(row * size + column);
+    }
+
+    /**
+     * Gets the number of battles between both entries, that {@code column} won.
+     *
+     * @param row The index of the first entry.
+     * @param column The index of the second entry.
+     * @return The number of losses.
+     */
+    public long losses(int row, int column) {
+        return wins(column, row);
+    }
+
+    /**
+     * Gets the number of battles between both entries, that neither of them won.
+     *
+     * @param row The index of the first entry.
+     * @param column The index of the second entry.
+     * @return The number of draws.
+     */
+    public long draws(int row, int column) {
+        return neither.get(row * size + column);
+    }
+
+    /**
+     * Gets the number of battles both entries took part in.
+     *
+     * @param row The index of the first entry.
+     * @param column The index of the second entry.
+     * @return The number of battles.
+     */
+    public long games(int row, int column) {
+        return wins(row, column) + losses(row, column) + draws(row, column);
+    }
+
+    /**
+     * Gets the fraction of shared battles, that {@code row} won.
+     *
+     * @param row The index of the first entry.
+     * @param column The index of the second entry.
+     * @return The win rate between 0 and 1, or 0 if they never met.
+     */
+    public double winRate(int row, int column) {
+        long games = games(row, column);
+        return games == 0 ? 0 : (double) wins(row, column) / games;
+    }
+
+    /**
+     * Gets the 95% Wilson score interval of the win rate of {@code row} against {@code column}.
+     *
+     * @param row The index of the first entry.
+     * @param column The index of the second entry.
+     * @return The confidence interval, which is {@code [0, 1]} if they never met.
+     */
+    public Interval confidenceInterval(int row, int column) {
+        long games = games(row, column);
+        if (games == 0) {
+            return new Interval(0, 1);
+        }
+
+        double p = winRate(row, column);
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / games;
+        double center = (p + z2 / (2.0 * games)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / denominator;
+        return new Interval(Math.max(0, center - margin), Math.min(1, center + margin));
+    }
+
+    /**
+     * A closed interval of probabilities.
+     *
+     * @param low The lower bound.
+     * @param high The upper bound.
+     */
+    public record Interval(double low, double high) {
+
+    }
+}
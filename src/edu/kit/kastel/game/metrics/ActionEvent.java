@@ -0,0 +1,60 @@
+package edu.kit.kastel.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a monster performing its action. Disabled by default.
+ *
+ * @author uupyx
+ */
+@Name("edu.kit.kastel.game.Action")
+@Label("Perform Action")
+@Category({"Monster Game", "Battle"})
+@Description("A monster performing its action or passing")
+@Enabled(false)
+@StackTrace(false)
+public final class ActionEvent extends Event {
+
+    @Label("Monster")
+    private String monster;
+
+    @Label("Action")
+    @Description("The name of the action, or null if the monster passed")
+    private String action;
+
+    @Label("Effects")
+    @Description("Effects executed, counting every repetition")
+    private int effects;
+
+    @Label("Repeats")
+    @Description("Sum of the resolved counts of all repeat blocks of the action")
+    private int repeats;
+
+    /**
+     * Creates an event for a monster performing its action.
+     *
+     * @param monster The name of the monster.
+     * @param action The name of the action, or null if the monster passes.
+     */
+    public ActionEvent(String monster, String action) {
+        this.monster = monster;
+        this.action = action;
+    }
+
+    /**
+     * Sets how much work the action caused.
+     *
+     * @param effects The number of executed effects.
+     * @param repeats The sum of the resolved repeat counts.
+     */
+    public void setWork(int effects, int repeats) {
+        this.effects = effects;
+        this.repeats = repeats;
+    }
+}
@@ -0,0 +1,251 @@
+package edu.kit.kastel.game.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import edu.kit.kastel.game.model.Action;
+import edu.kit.kastel.game.model.effect.Effect;
+
+/**
+ * Process-wide counters and latency histograms of battles and configuration loads, exposed over JMX as a {@link BattleMetricsMXBean}.
+ * Metrics are only recorded if the system property {@value #ENABLED_PROPERTY} is {@code true} at startup. Otherwise {@link #get()} returns
+ * null, and every recording site is a single null check of a constant, so disabled metrics cost nothing.
+ * <p>
+ * All counters are striped, so battles running on many threads record without contending on shared memory. Competitions forked for a
+ * search are not recorded.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class BattleMetrics implements BattleMetricsMXBean {
+
+    /** System property enabling the metrics. */
+    public static final String ENABLED_PROPERTY = "game.metrics";
+
+    /** Name, under which the metrics are registered with the platform MBean server. */
+    public static final String OBJECT_NAME = "edu.kit.kastel.game:type=BattleMetrics";
+
+    private static final BattleMetrics INSTANCE = Boolean.getBoolean(ENABLED_PROPERTY) ? new BattleMetrics() : null;
+
+    private final LongAdder battlesStarted = new LongAdder();
+    private final LongAdder battlesFinished = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder actionsExecuted = new LongAdder();
+    private final LongAdder configLoads = new LongAdder();
+    private final LongAdder[] decisions = new LongAdder[Decision.values().length];
+
+    // Looked up by class without hashing on every effect, the map only collects the counters for reporting
+    private final Map<String, LongAdder> effects = new ConcurrentHashMap<>();
+    private final ClassValue<LongAdder> effectCounters = new ClassValue<>() {
+        @Override
+        protected LongAdder computeValue(Class<?> type) {
+            return effects.computeIfAbsent(type.getSimpleName(), name -> new LongAdder());
+        }
+    };
+
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram stepLatency = new LatencyHistogram();
+    private final LatencyHistogram actionLatency = new LatencyHistogram();
+
+    private BattleMetrics() {
+        for (int i = 0; i < decisions.length; i++) {
+            decisions[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Gets the metrics of the process.
+     *
+     * @return The metrics, or null if they are disabled.
+     */
+    public static BattleMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, if they are enabled and not registered yet.
+     *
+     * @throws JMException If the metrics cannot be registered.
+     */
+    public static void register() throws JMException {
+        if (INSTANCE == null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(INSTANCE, name);
+        }
+    }
+
+    /**
+     * Records the start of a battle.
+     */
+    public void battleStarted() {
+        battlesStarted.increment();
+    }
+
+    /**
+     * Records the end of a battle.
+     */
+    public void battleFinished() {
+        battlesFinished.increment();
+    }
+
+    /**
+     * Records a completed round.
+     */
+    public void roundCompleted() {
+        rounds.increment();
+    }
+
+    /**
+     * Records a step of a competition.
+     *
+     * @param nanos The duration of the step in nanoseconds.
+     */
+    public void stepped(long nanos) {
+        stepLatency.record(nanos);
+    }
+
+    /**
+     * Records a monster performing its action.
+     *
+     * @param action The action, or null if the monster passed.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void actionPerformed(Action action, long nanos) {
+        if (action != null) {
+            actionsExecuted.increment();
+        }
+        actionLatency.record(nanos);
+    }
+
+    /**
+     * Records an applied effect.
+     *
+     * @param type The type of the effect.
+     */
+    public void effectApplied(Class<? extends Effect> type) {
+        effectCounters.get(type).increment();
+    }
+
+    /**
+     * Records a random decision.
+     *
+     * @param decision The kind of the decision.
+     */
+    public void decided(Decision decision) {
+        decisions[decision.ordinal()].increment();
+    }
+
+    /**
+     * Records a loaded configuration.
+     */
+    public void configLoaded() {
+        configLoads.increment();
+    }
+
+    /**
+     * Records parsing a whole configuration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void parsed(long nanos) {
+        parseLatency.record(nanos);
+    }
+
+    @Override
+    public long getBattlesStarted() {
+        return battlesStarted.sum();
+    }
+
+    @Override
+    public long getBattlesFinished() {
+        return battlesFinished.sum();
+    }
+
+    @Override
+    public long getRounds() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getActionsExecuted() {
+        return actionsExecuted.sum();
+    }
+
+    @Override
+    public Map<String, Long> getEffectsApplied() {
+        Map<String, Long> counts = new TreeMap<>();
+        effects.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getDecisions() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Decision decision : Decision.values()) {
+            counts.put(decision.name(), decisions[decision.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public long getConfigLoads() {
+        return configLoads.sum();
+    }
+
+    @Override
+    public LatencySummary getParseLatency() {
+        return parseLatency.summarize();
+    }
+
+    @Override
+    public LatencySummary getStepLatency() {
+        return stepLatency.summarize();
+    }
+
+    @Override
+    public LatencySummary getActionLatency() {
+        return actionLatency.summarize();
+    }
+
+    @Override
+    public void reset() {
+        battlesStarted.reset();
+        battlesFinished.reset();
+        rounds.reset();
+        actionsExecuted.reset();
+        configLoads.reset();
+        for (LongAdder count : decisions) {
+            count.reset();
+        }
+        effects.values().forEach(LongAdder::reset);
+        parseLatency.reset();
+        stepLatency.reset();
+        actionLatency.reset();
+    }
+
+    /**
+     * The kinds of random decisions.
+     */
+    public enum Decision {
+        /** A yes or no decision. */
+        YES_NO,
+
+        /** A decision of a number in a range. */
+        DOUBLE,
+
+        /** A decision of an integer in a range. */
+        INT
+    }
+}
@@ -0,0 +1,86 @@
+package edu.kit.kastel.game.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link BattleMetrics}, registered as {@value BattleMetrics#OBJECT_NAME}.
+ *
+ * @author uupyx
+ */
+public interface BattleMetricsMXBean {
+
+    /**
+     * Gets the number of battles started, counting the first step of a competition and the first step after every reset.
+     *
+     * @return The number of started battles.
+     */
+    long getBattlesStarted();
+
+    /**
+     * Gets the number of battles, that ended with a winner or a draw.
+     *
+     * @return The number of finished battles.
+     */
+    long getBattlesFinished();
+
+    /**
+     * Gets the number of completed rounds of all battles.
+     *
+     * @return The number of rounds.
+     */
+    long getRounds();
+
+    /**
+     * Gets the number of actions used by monsters, not counting passes.
+     *
+     * @return The number of executed actions.
+     */
+    long getActionsExecuted();
+
+    /**
+     * Gets the number of applied effects by the simple name of their type.
+     *
+     * @return The number of applied effects per type.
+     */
+    Map<String, Long> getEffectsApplied();
+
+    /**
+     * Gets the number of random decisions by their kind.
+     *
+     * @return The number of decisions per kind.
+     */
+    Map<String, Long> getDecisions();
+
+    /**
+     * Gets the number of loaded configurations, including those taken from their cache.
+     *
+     * @return The number of configuration loads.
+     */
+    long getConfigLoads();
+
+    /**
+     * Gets the latencies of parsing a whole configuration.
+     *
+     * @return The parse latencies.
+     */
+    LatencySummary getParseLatency();
+
+    /**
+     * Gets the latencies of a step of a competition.
+     *
+     * @return The step latencies.
+     */
+    LatencySummary getStepLatency();
+
+    /**
+     * Gets the latencies of a monster performing its action, including passes.
+     *
+     * @return The action latencies.
+     */
+    LatencySummary getActionLatency();
+
+    /**
+     * Clears all counters and histograms.
+     */
+    void reset();
+}
@@ -0,0 +1,63 @@
+package edu.kit.kastel.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one phase of loading a configuration. Disabled by default.
+ *
+ * @author uupyx
+ */
+@Name("edu.kit.kastel.game.ConfigPhase")
+@Label("Configuration Phase")
+@Category({"Monster Game", "Configuration"})
+@Description("One phase of loading a configuration file")
+@Enabled(false)
+@StackTrace(false)
+public final class ConfigPhaseEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Phase")
+    private String phase;
+
+    /**
+     * Creates an event for a phase of loading a configuration.
+     *
+     * @param path The path of the configuration file.
+     * @param phase The phase.
+     */
+    public ConfigPhaseEvent(String path, Phase phase) {
+        this.path = path;
+        this.phase = phase.label;
+    }
+
+    /**
+     * The phases of loading a configuration.
+     */
+    public enum Phase {
+        /** Mapping the file into memory. */
+        READ("read"),
+
+        /** Looking the configuration up in its cache. */
+        CACHE("cache"),
+
+        /** Checking the encoding of the file, the only pass of the lexer that runs on its own. */
+        LEX("lex"),
+
+        /** Lexing and parsing the configuration, which are interleaved. */
+        PARSE("parse");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+}
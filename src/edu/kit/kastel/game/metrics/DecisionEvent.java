@@ -0,0 +1,63 @@
+package edu.kit.kastel.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a random decision of a battle. Disabled by default.
+ *
+ * @author uupyx
+ */
+@Name("edu.kit.kastel.game.Decision")
+@Label("Decision")
+@Category({"Monster Game", "Battle"})
+@Description("A random decision made by the decision maker of a competition")
+@Enabled(false)
+@StackTrace(false)
+public final class DecisionEvent extends Event {
+
+    @Label("Kind")
+    private String kind;
+
+    @Label("Context")
+    private String context;
+
+    @Label("Result")
+    @Description("The decided value, 1 for yes and 0 for no")
+    private double result;
+
+    /**
+     * Creates an event for a decision.
+     *
+     * @param kind The kind of the decision.
+     * @param context The context of the decision.
+     */
+    public DecisionEvent(BattleMetrics.Decision kind, String context) {
+        this.kind = kind.name();
+        this.context = context;
+    }
+
+    /**
+     * Checks whether decision events are recorded right now. Without a running recording, this is false without initializing the flight
+     * recorder.
+     *
+     * @return True if decision events are recorded, otherwise false.
+     */
+    public static boolean isRecorded() {
+        return new DecisionEvent(BattleMetrics.Decision.YES_NO, null).isEnabled();
+    }
+
+    /**
+     * Sets the decided value.
+     *
+     * @param result The decided value.
+     */
+    public void setResult(double result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,80 @@
+package edu.kit.kastel.game.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds with one bucket per power of two. Bucket {@code b} counts the latencies with {@code b} significant
+ * bits, so percentiles are accurate up to a factor of two. Recording only adds to striped counters and never locks, so many threads can
+ * record at once without contending.
+ *
+ * @author uupyx
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE + 1;
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds, negative values count as 0.
+     */
+    void record(long nanos) {
+        long clamped = Math.max(0, nanos);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(clamped)].increment();
+        total.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    /**
+     * Summarizes the latencies recorded so far. Latencies recorded concurrently may be partially included.
+     *
+     * @return The summary.
+     */
+    LatencySummary summarize() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long mean = count == 0 ? 0 : total.sum() / count;
+        return new LatencySummary(count, mean, max.get(), percentile(counts, count, MEDIAN), percentile(counts, count, P99));
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        total.reset();
+        max.reset();
+    }
+
+    // The upper bound of the bucket containing the percentile
+    private static long percentile(long[] counts, long count, double fraction) {
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+}
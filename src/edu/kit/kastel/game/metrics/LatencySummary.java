@@ -0,0 +1,78 @@
+package edu.kit.kastel.game.metrics;
+
+/**
+ * Summary of the latencies of one operation, as exposed by the {@link BattleMetricsMXBean}. Percentiles are the upper bounds of the
+ * power-of-two buckets they fall into.
+ *
+ * @author uupyx
+ */
+public final class LatencySummary {
+
+    private final long count;
+    private final long meanNanos;
+    private final long maxNanos;
+    private final long medianNanos;
+    private final long p99Nanos;
+
+    /**
+     * Creates a summary.
+     *
+     * @param count The number of recorded latencies.
+     * @param meanNanos The mean latency in nanoseconds.
+     * @param maxNanos The maximum latency in nanoseconds.
+     * @param medianNanos The median latency in nanoseconds.
+     * @param p99Nanos The 99th percentile latency in nanoseconds.
+     */
+    public LatencySummary(long count, long meanNanos, long maxNanos, long medianNanos, long p99Nanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.maxNanos = maxNanos;
+        this.medianNanos = medianNanos;
+        this.p99Nanos = p99Nanos;
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean latency.
+     *
+     * @return The mean in nanoseconds.
+     */
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Gets the maximum latency.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Gets the median latency.
+     *
+     * @return The median in nanoseconds.
+     */
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+
+    /**
+     * Gets the 99th percentile latency.
+     *
+     * @return The 99th percentile in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+}
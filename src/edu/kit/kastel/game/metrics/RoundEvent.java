@@ -0,0 +1,41 @@
+package edu.kit.kastel.game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for executing the selected actions of a round of a competition. Disabled by default.
+ *
+ * @author uupyx
+ */
+@Name("edu.kit.kastel.game.Round")
+@Label("Competition Round")
+@Category({"Monster Game", "Battle"})
+@Description("Execution of the selected actions of one round of a competition, without waiting for the selections")
+@Enabled(false)
+@StackTrace(false)
+public final class RoundEvent extends Event {
+
+    @Label("Round")
+    private int round;
+
+    @Label("Combatants")
+    @Description("Monsters, that had not fainted when the round started")
+    private int combatants;
+
+    /**
+     * Creates an event for a round.
+     *
+     * @param round The number of the round, starting at 0.
+     * @param combatants The number of monsters, that have not fainted.
+     */
+    public RoundEvent(int round, int combatants) {
+        this.round = round;
+        this.combatants = combatants;
+    }
+}
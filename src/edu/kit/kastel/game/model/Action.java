@@ -3,6 +3,7 @@ package edu.kit.kastel.game.model;
 import java.util.List;
 
 import edu.kit.kastel.game.model.effect.Effect;
+import edu.kit.kastel.game.model.program.ActionProgram;
 
 /**
  * Represents an action that a monster can perform in battle.
@@ -13,9 +14,33 @@ import edu.kit.kastel.game.model.effect.Effect;
  * @param name The name of the action.
  * @param element The element associated with the action (WATER, FIRE, EARTH, NORMAL).
  * @param effects The list of effects this action applies.
+ * @param program The effects compiled for execution.
+ * @param symbol The symbol of the name in the symbol table of the configuration, or -1 if the action is not part of a configuration.
  *
  * @author uupyx
  */
-public record Action(String name, Element element, List<Effect> effects) {
+public record Action(String name, Element element, List<Effect> effects, ActionProgram program, int symbol) {
 
+    /**
+     * Creates an action, that is not part of a configuration, and compiles its effects once.
+     *
+     * @param name The name of the action.
+     * @param element The element associated with the action.
+     * @param effects The list of effects this action applies.
+     */
+    public Action(String name, Element element, List<Effect> effects) {
+        this(name, element, effects, -1);
+    }
+
+    /**
+     * Creates an action and compiles its effects once.
+     *
+     * @param name The name of the action.
+     * @param element The element associated with the action.
+     * @param effects The list of effects this action applies.
+     * @param symbol The symbol of the name in the symbol table of the configuration.
+     */
+    public Action(String name, Element element, List<Effect> effects, int symbol) {
+        this(name, element, effects, ActionProgram.compile(effects), symbol);
+    }
 }
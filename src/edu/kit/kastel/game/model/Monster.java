@@ -16,11 +16,29 @@ import java.util.List;
  * @param baseDefense The base defense value (DEF).
  * @param baseSpeed The base speed value (SPD).
  * @param actions The list of actions this monster can perform.
+ * @param symbol The symbol of the name in the symbol table of the configuration, or -1 if the monster is not part of a configuration.
  *
  * @author uupyx
  */
 public record Monster(int id, String name, Element element, int maxHealth, int baseAttack, int baseDefense, int baseSpeed,
-        List<Action> actions) {
+        List<Action> actions, int symbol) {
+
+    /**
+     * Creates a monster, that is not part of a configuration.
+     *
+     * @param id The unique competition ID.
+     * @param name The name of the monster.
+     * @param element The elemental type of the monster.
+     * @param maxHealth The maximum health (HP) of the monster.
+     * @param baseAttack The base attack value (ATK).
+     * @param baseDefense The base defense value (DEF).
+     * @param baseSpeed The base speed value (SPD).
+     * @param actions The list of actions this monster can perform.
+     */
+    public Monster(int id, String name, Element element, int maxHealth, int baseAttack, int baseDefense, int baseSpeed,
+            List<Action> actions) {
+        this(id, name, element, maxHealth, baseAttack, baseDefense, baseSpeed, actions, -1);
+    }
 
     @Override
     public String toString() {
@@ -1,6 +1,5 @@
 package edu.kit.kastel.game.model;
 
-import edu.kit.kastel.game.console.Console;
 import edu.kit.kastel.game.console.Message;
 import edu.kit.kastel.game.model.status.MonsterStatus;
 
@@ -46,17 +45,17 @@ public enum StatusCondition {
 
         @Override
         public void onRemoved(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_DRIED, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_DRIED, status.getMonster().name());
         }
 
         @Override
         public void onAdded(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_BECOMES_WET, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_BECOMES_WET, status.getMonster().name());
         }
 
         @Override
         public void onTick(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_IS_WET, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_IS_WET, status.getMonster().name());
         }
     },
 
@@ -76,17 +75,17 @@ public enum StatusCondition {
 
         @Override
         public void onRemoved(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_BURNING_FADED, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_BURNING_FADED, status.getMonster().name());
         }
 
         @Override
         public void onAdded(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_CAUGHT_FIRE, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_CAUGHT_FIRE, status.getMonster().name());
         }
 
         @Override
         public void onTick(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_BURNING, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_BURNING, status.getMonster().name());
         }
     },
 
@@ -106,17 +105,17 @@ public enum StatusCondition {
 
         @Override
         public void onRemoved(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_ESCAPED_QUICKSAND, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_ESCAPED_QUICKSAND, status.getMonster().name());
         }
 
         @Override
         public void onAdded(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_CAUGHT_QUICKSAND, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_CAUGHT_QUICKSAND, status.getMonster().name());
         }
 
         @Override
         public void onTick(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_IS_QUICKSAND, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_IS_QUICKSAND, status.getMonster().name());
         }
     },
 
@@ -136,17 +135,17 @@ public enum StatusCondition {
 
         @Override
         public void onRemoved(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_WOKE_UP, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_WOKE_UP, status.getMonster().name());
         }
 
         @Override
         public void onAdded(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_FALLS_ASLEEP, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_FALLS_ASLEEP, status.getMonster().name());
         }
 
         @Override
         public void onTick(MonsterStatus status) {
-            Console.writeMessage(Message.MONSTER_IS_ASLEEP, status.getMonster().name());
+            status.getTerminal().writeMessage(Message.MONSTER_IS_ASLEEP, status.getMonster().name());
         }
     };
 
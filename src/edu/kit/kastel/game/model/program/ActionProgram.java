@@ -0,0 +1,220 @@
+package edu.kit.kastel.game.model.program;
+
+import java.util.List;
+
+import edu.kit.kastel.game.model.TargetMonster;
+import edu.kit.kastel.game.model.count.Count;
+import edu.kit.kastel.game.model.effect.DamageEffect;
+import edu.kit.kastel.game.model.effect.Effect;
+import edu.kit.kastel.game.model.effect.HittableEffect;
+import edu.kit.kastel.game.model.effect.ProtectStatEffect;
+import edu.kit.kastel.game.model.effect.RepeatEffect;
+import edu.kit.kastel.game.model.effect.StatusEffect;
+
+/**
+ * The effects of an action, compiled into a flat instruction sequence. Every instruction has an opcode and pre-resolved operands stored in
+ * parallel tables, so executing an action needs neither type tests nor an expanded effect queue. Repeat blocks become a loop between a
+ * {@link #REPEAT} and an {@link #END_REPEAT} instruction.
+ *
+ * @author uupyx
+ */
+public final class ActionProgram {
+
+    /** Hittable effect without any further behaviour. */
+    public static final byte CONTINUE = 0;
+
+    /** Hittable effect, that protects the user. Operand: {@link #protection(int)}. */
+    public static final byte PROTECT = 1;
+
+    /** Hittable status effect. Operand: {@link #statusEffect(int)}. */
+    public static final byte STATUS = 2;
+
+    /** Hittable damage effect, a status effect that marks the action as performed. Operand: {@link #statusEffect(int)}. */
+    public static final byte DAMAGE = 3;
+
+    /** Start of a repeat block. Operands: {@link #repeatSlot(int)} and {@link #jump(int)} to its end. */
+    public static final byte REPEAT = 4;
+
+    /** End of a repeat block. Operand: {@link #jump(int)} to the first instruction of the block. */
+    public static final byte END_REPEAT = 5;
+
+    private final byte[] opcodes;
+    private final int[] hitRates;
+    private final TargetMonster[] statusTargets;
+    private final StatusEffect[] statusEffects;
+    private final ProtectStatEffect[] protections;
+    private final int[] jumps;
+    private final int[] repeatSlots;
+    private final Count[] repeatCounts;
+
+    private ActionProgram(int length, int repeats) {
+        opcodes = new byte[length];
+        hitRates = new int[length];
+        statusTargets = new TargetMonster[length];
+        statusEffects = new StatusEffect[length];
+        protections = new ProtectStatEffect[length];
+        jumps = new int[length];
+        repeatSlots = new int[length];
+        repeatCounts = new Count[repeats];
+    }
+
+    /**
+     * Compiles a list of effects into a program.
+     *
+     * @param effects The effects of an action.
+     * @return The compiled program.
+     */
+    public static ActionProgram compile(List<Effect> effects) {
+        int length = 0;
+        int repeats = 0;
+        for (Effect effect : effects) {
+            if (effect instanceof RepeatEffect repeat) {
+                length += repeat.effects().size() + 2;
+                repeats++;
+            } else {
+                length++;
+            }
+        }
+
+        ActionProgram program = new ActionProgram(length, repeats);
+        int pc = 0;
+        int slot = 0;
+        for (Effect effect : effects) {
+            if (effect instanceof RepeatEffect repeat) {
+                int start = pc;
+                program.opcodes[start] = REPEAT;
+                program.repeatSlots[start] = slot;
+                program.repeatCounts[slot++] = repeat.count();
+                pc++;
+
+                for (Effect nested : repeat.effects()) {
+                    program.emit(pc++, nested);
+                }
+
+                program.opcodes[pc] = END_REPEAT;
+                program.jumps[pc] = start + 1;
+                program.jumps[start] = pc;
+                pc++;
+            } else {
+                program.emit(pc++, effect);
+            }
+        }
+        return program;
+    }
+
+    private void emit(int pc, Effect effect) {
+        if (effect instanceof StatusEffect statusEffect && effect instanceof HittableEffect hittable) {
+            opcodes[pc] = effect instanceof DamageEffect ? DAMAGE : STATUS;
+            hitRates[pc] = hittable.getHitRate();
+            statusTargets[pc] = statusEffect.getTarget();
+            statusEffects[pc] = statusEffect;
+        } else if (effect instanceof ProtectStatEffect protectEffect) {
+            opcodes[pc] = PROTECT;
+            hitRates[pc] = protectEffect.getHitRate();
+            protections[pc] = protectEffect;
+        } else if (effect instanceof HittableEffect hittable) {
+            opcodes[pc] = CONTINUE;
+            hitRates[pc] = hittable.getHitRate();
+        } else {
+            throw new IllegalArgumentException("Nested repeat");
+        }
+    }
+
+    /**
+     * Gets the number of instructions.
+     *
+     * @return The program length.
+     */
+    public int length() {
+        return opcodes.length;
+    }
+
+    /**
+     * Gets the number of repeat blocks, which is the number of repeat counts to resolve before execution.
+     *
+     * @return The number of repeat blocks.
+     */
+    public int repeats() {
+        return repeatCounts.length;
+    }
+
+    /**
+     * Gets the count of a repeat block by its slot.
+     *
+     * @param slot The slot of the repeat block, in program order.
+     * @return The repeat count.
+     */
+    public Count repeatCount(int slot) {
+        return repeatCounts[slot];
+    }
+
+    /**
+     * Gets the opcode of an instruction.
+     *
+     * @param pc The instruction index.
+     * @return The opcode.
+     */
+    public byte opcode(int pc) {
+        return opcodes[pc];
+    }
+
+    /**
+     * Gets the hit rate of a hittable instruction.
+     *
+     * @param pc The instruction index.
+     * @return The hit rate.
+     */
+    public int hitRate(int pc) {
+        return hitRates[pc];
+    }
+
+    /**
+     * Gets the target of a status instruction, which determines the stats used for its hit chance.
+     *
+     * @param pc The instruction index.
+     * @return The target, or null if the instruction is no status effect.
+     */
+    public TargetMonster statusTarget(int pc) {
+        return statusTargets[pc];
+    }
+
+    /**
+     * Gets the effect of a {@link #STATUS} or {@link #DAMAGE} instruction.
+     *
+     * @param pc The instruction index.
+     * @return The status effect.
+     */
+    public StatusEffect statusEffect(int pc) {
+        return statusEffects[pc];
+    }
+
+    /**
+     * Gets the effect of a {@link #PROTECT} instruction.
+     *
+     * @param pc The instruction index.
+     * @return The protection effect.
+     */
+    public ProtectStatEffect protection(int pc) {
+        return protections[pc];
+    }
+
+    /**
+     * Gets the slot of a {@link #REPEAT} instruction, under which its resolved count is passed to the interpreter.
+     *
+     * @param pc The instruction index.
+     * @return The repeat slot.
+     */
+    public int repeatSlot(int pc) {
+        return repeatSlots[pc];
+    }
+
+    /**
+     * Gets the jump target of a {@link #REPEAT} or {@link #END_REPEAT} instruction.
+     *
+     * @param pc The instruction index.
+     * @return The index of the matching end for a repeat, or the first instruction of the block for an end.
+     */
+    public int jump(int pc) {
+        return jumps[pc];
+    }
+}
@@ -0,0 +1,300 @@
+package edu.kit.kastel.game.model.status;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import edu.kit.kastel.game.model.ProtectTarget;
+import edu.kit.kastel.game.model.Stat;
+import edu.kit.kastel.game.model.StatusCondition;
+
+/**
+ * Mutable battle state of all combatants of a competition, stored as primitive arrays indexed by combatant. {@link MonsterStatus} and its
+ * managers read and write their slot of this state instead of owning boxed fields, so a whole battle can be reset or copied with a few
+ * bulk array copies.
+ * <p>
+ * The state keeps count of the fainted combatants and remembers which combatants had their stat stages or status condition changed, so
+ * a competition can find out who is still standing and whose speed may have moved without scanning the whole lineup.
+ * </p>
+ *
+ * @author uupyx
+ */
+public final class BattleState {
+
+    private static final Stat[] STATS = Stat.values();
+    private static final StatusCondition[] CONDITIONS = StatusCondition.values();
+    private static final ProtectTarget[] PROTECT_TARGETS = ProtectTarget.values();
+    private static final byte NO_PROTECTION = -1;
+
+    private final int size;
+    private final int[] health;
+    private final byte[] stages;
+    private final byte[] conditions;
+    private final byte[] protectionTargets;
+    private final int[] protectionRounds;
+    private final int[] versions;
+    private final int[] modifications;
+    private final BitSet changed;
+    private int fainted;
+
+    /**
+     * Creates the state for the given number of combatants. All combatants start with no health, neutral stats, no status condition and
+     * no protection, and all of them count as changed.
+     *
+     * @param size The number of combatants.
+     */
+    public BattleState(int size) {
+        this.size = size;
+        this.health = new int[size];
+        this.stages = new byte[size * STATS.length];
+        this.conditions = new byte[size];
+        this.protectionTargets = new byte[size];
+        this.protectionRounds = new int[size];
+        this.versions = new int[size];
+        this.modifications = new int[size];
+        this.changed = new BitSet(size);
+        changed.set(0, size);
+
+        Arrays.fill(conditions, (byte) StatusCondition.OK.ordinal());
+        Arrays.fill(protectionTargets, NO_PROTECTION);
+    }
+
+    /**
+     * Gets the number of combatants.
+     *
+     * @return The number of combatants.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Overwrites this state with another state of the same size. Every combatant counts as changed afterwards.
+     *
+     * @param other The state to copy.
+     */
+    public void copyFrom(BattleState other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Expected a state of size " + size + ", got " + other.size);
+        }
+
+        System.arraycopy(other.health, 0, health, 0, size);
+        System.arraycopy(other.stages, 0, stages, 0, stages.length);
+        System.arraycopy(other.conditions, 0, conditions, 0, size);
+        System.arraycopy(other.protectionTargets, 0, protectionTargets, 0, size);
+        System.arraycopy(other.protectionRounds, 0, protectionRounds, 0, size);
+        fainted = other.fainted;
+        changed.set(0, size);
+        for (int i = 0; i < size; i++) {
+            versions[i]++;
+            modifications[i]++;
+        }
+    }
+
+    /**
+     * Creates an independent copy of this state.
+     *
+     * @return The copy.
+     */
+    public BattleState copy() {
+        BattleState copy = new BattleState(size);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Gets the version of a combatant's stat-relevant state. It changes whenever a stat stage or the status condition of the combatant
+     * changes, so derived values can be cached until the version moves on.
+     *
+     * @param index The combatant.
+     * @return The current version.
+     */
+    int getVersion(int index) {
+        return versions[index];
+    }
+
+    /**
+     * Gets the modification count of a combatant. It changes whenever any state of the combatant is written, so an unchanged count means
+     * that a previously taken {@link Slice} is still up to date.
+     *
+     * @param index The combatant.
+     * @return The current modification count.
+     */
+    public int getModification(int index) {
+        return modifications[index];
+    }
+
+    /**
+     * Captures the state of a single combatant.
+     *
+     * @param index The combatant.
+     * @return An immutable copy of its state.
+     */
+    public Slice slice(int index) {
+        byte[] stageCopy = new byte[STATS.length];
+        System.arraycopy(stages, index * STATS.length, stageCopy, 0, STATS.length);
+        return new Slice(health[index], stageCopy, conditions[index], protectionTargets[index], protectionRounds[index]);
+    }
+
+    /**
+     * Overwrites the state of a single combatant with a captured state.
+     *
+     * @param index The combatant.
+     * @param slice The captured state.
+     */
+    public void restore(int index, Slice slice) {
+        health[index] = slice.health;
+        System.arraycopy(slice.stages, 0, stages, index * STATS.length, STATS.length);
+        updateFainted(conditions[index], slice.condition);
+        conditions[index] = slice.condition;
+        protectionTargets[index] = slice.protectionTarget;
+        protectionRounds[index] = slice.protectionRounds;
+        versions[index]++;
+        modifications[index]++;
+        changed.set(index);
+    }
+
+    /**
+     * Gets the number of combatants, that have not fainted.
+     *
+     * @return The number of active combatants.
+     */
+    public int countActive() {
+        return size - fainted;
+    }
+
+    /**
+     * Gets the next combatant, whose stat stages or status condition changed since the changes were last cleared.
+     *
+     * @param from The first combatant to consider.
+     * @return The changed combatant, or -1 if there is none from there on.
+     */
+    public int nextChanged(int from) {
+        return changed.nextSetBit(from);
+    }
+
+    /**
+     * Gets the number of combatants, whose stat stages or status condition changed since the changes were last cleared.
+     *
+     * @return The number of changed combatants.
+     */
+    public int countChanged() {
+        return changed.cardinality();
+    }
+
+    /**
+     * Forgets all changes, so only later changes are reported by {@link #nextChanged(int)}.
+     */
+    public void clearChanged() {
+        changed.clear();
+    }
+
+    int getHealth(int index) {
+        return health[index];
+    }
+
+    void setHealth(int index, int value) {
+        health[index] = value;
+        modifications[index]++;
+    }
+
+    int getStage(int index, Stat stat) {
+        return stages[index * STATS.length + stat.ordinal()];
+    }
+
+    void setStage(int index, Stat stat, int value) {
+        stages[index * STATS.length + stat.ordinal()] = (byte) value;
+        versions[index]++;
+        modifications[index]++;
+        changed.set(index);
+    }
+
+    StatusCondition getCondition(int index) {
+        return CONDITIONS[conditions[index]];
+    }
+
+    void setCondition(int index, StatusCondition condition) {
+        updateFainted(conditions[index], (byte) condition.ordinal());
+        conditions[index] = (byte) condition.ordinal();
+        versions[index]++;
+        modifications[index]++;
+        changed.set(index);
+    }
+
+    ProtectTarget getProtectionTarget(int index) {
+        byte target = protectionTargets[index];
+        return target == NO_PROTECTION ? null : PROTECT_TARGETS[target];
+    }
+
+    int getProtectionRounds(int index) {
+        return protectionRounds[index];
+    }
+
+    void setProtection(int index, ProtectTarget target, int rounds) {
+        protectionTargets[index] = target == null ? NO_PROTECTION : (byte) target.ordinal();
+        protectionRounds[index] = rounds;
+        modifications[index]++;
+    }
+
+    void setProtectionRounds(int index, int rounds) {
+        protectionRounds[index] = rounds;
+        modifications[index]++;
+    }
+
+    private void updateFainted(byte previous, byte next) {
+        byte faintedCondition = (byte) StatusCondition.FAINTED.ordinal();
+        if (previous != faintedCondition && next == faintedCondition) {
+            fainted++;
+        } else if (previous == faintedCondition && next != faintedCondition) {
+            fainted--;
+        }
+    }
+
+    /**
+     * Immutable state of a single combatant, that can be shared between any number of snapshots. Slices are equal if they capture the
+     * exact same state.
+     */
+    public static final class Slice {
+
+        private final int health;
+        private final byte[] stages;
+        private final byte condition;
+        private final byte protectionTarget;
+        private final int protectionRounds;
+
+        private Slice(int health, byte[] stages, byte condition, byte protectionTarget, int protectionRounds) {
+            this.health = health;
+            this.stages = stages;
+            this.condition = condition;
+            this.protectionTarget = protectionTarget;
+            this.protectionRounds = protectionRounds;
+        }
+
+        /**
+         * Gets the captured health.
+         *
+         * @return The health.
+         */
+        public int health() {
+            return health;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            return obj instanceof Slice other && health == other.health && condition == other.condition
+                    && protectionTarget == other.protectionTarget && protectionRounds == other.protectionRounds
+                    && Arrays.equals(stages, other.stages);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Arrays.hashCode(stages);
+            hash = 31 * hash + health;
+            hash = 31 * hash + condition;
+            hash = 31 * hash + protectionTarget;
+            return 31 * hash + protectionRounds;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package edu.kit.kastel.game.model.status;
 
-import edu.kit.kastel.game.console.Console;
 import edu.kit.kastel.game.console.Message;
 import edu.kit.kastel.game.model.Action;
 import edu.kit.kastel.game.model.Effectiveness;
 import edu.kit.kastel.game.model.Element;
+import edu.kit.kastel.game.model.ProtectTarget;
 import edu.kit.kastel.game.model.Stat;
+import edu.kit.kastel.game.model.TargetMonster;
+import edu.kit.kastel.game.model.count.Count;
+import edu.kit.kastel.game.model.count.FixedCount;
+import edu.kit.kastel.game.model.count.RandomCount;
+import edu.kit.kastel.game.model.effect.DamageEffect;
+import edu.kit.kastel.game.model.program.ActionProgram;
 import edu.kit.kastel.game.model.strength.AbsStrength;
 import edu.kit.kastel.game.model.strength.BaseStrength;
 import edu.kit.kastel.game.model.strength.RelStrength;
@@ -18,6 +24,9 @@ import edu.kit.kastel.game.model.strength.Strength;
  */
 public final class DamageCalculator {
 
+    private static final double MIN_VARIANCE = 0.85;
+    private static final double MAX_VARIANCE = 1.0;
+
     private final MonsterStatus monsterStatus;
 
     /**
@@ -52,7 +61,7 @@ public final class DamageCalculator {
         double damage = 0;
         
         if (shouldPrint) {
-            Console.writeMessage(action.element().getEffectiveness(monsterStatus.getMonster().element()).getMessage());
+            monsterStatus.getTerminal().writeMessage(action.element().getEffectiveness(monsterStatus.getMonster().element()).getMessage());
         }
 
         if (strength instanceof BaseStrength baseStrength) {
@@ -68,23 +77,20 @@ public final class DamageCalculator {
                     / monsterStatus.getStatManager().getEffectiveStat(Stat.DEF);
 
             // Critical factor
-            double spdUser = user.getStatManager().getEffectiveStat(Stat.SPD);
-            double spdTarget = monsterStatus.getStatManager().getEffectiveStat(Stat.SPD);
-
-            double critProbability = Math.pow(10, -spdTarget / spdUser) * 100;
+            double critProbability = criticalHitChance(user);
 //            boolean isCrit = isDamage && monsterStatus.getDecisionMaker().decideYesNo(critProbability, "critical hit");
             boolean isCrit = monsterStatus.getDecisionMaker().decideYesNo(critProbability, "critical hit");
 
             double critFactor = isCrit ? 2.0 : 1.0;
             if (isCrit) {
-                Console.writeMessage(Message.CRITICAL_HIT);
+                monsterStatus.getTerminal().writeMessage(Message.CRITICAL_HIT);
             }
 
             // Same element factor
             double sameElementFactor = (actionElement == user.getMonster().element()) ? 1.5 : 1.0;
 
             // Random factor
-            double randomFactor = monsterStatus.getDecisionMaker().decideDouble(0.85, 1.0, "damage variance");
+            double randomFactor = monsterStatus.getDecisionMaker().decideDouble(MIN_VARIANCE, MAX_VARIANCE, "damage variance");
 
             // Normalization factor
             double normalizationFactor = 1.0 / 3.0;
@@ -103,4 +109,188 @@ public final class DamageCalculator {
         return (int) Math.round(damage);
     }
 
+    /**
+     * Calculates the exact distribution of the damage an action deals to this monster, without making any random decisions. It covers
+     * the hit chance of every effect, a missing first effect cancelling the whole action, critical hits, the damage variance, random
+     * repeat counts and health protection. The damage is capped at the remaining health, so the highest bucket is the chance to faint.
+     * All chances are based on the current stats; changes made by earlier effects of the same action are not anticipated.
+     *
+     * @param action The action being performed.
+     * @param user The user performing the action.
+     * @return The distribution of the health this monster loses.
+     */
+    public DamageDistribution damageDistribution(Action action, MonsterStatus user) {
+        int cap = monsterStatus.getHealth();
+        ActionProgram program = action.program();
+
+        // Per instruction: the chance to hit, the damage if it hits, and the damage including a possible miss
+        double[] hitChances = new double[program.length()];
+        double[][] hitDamages = new double[program.length()][];
+        double[][] damages = new double[program.length()][];
+        for (int pc = 0; pc < program.length(); pc++) {
+            byte opcode = program.opcode(pc);
+            if (opcode == ActionProgram.REPEAT || opcode == ActionProgram.END_REPEAT) {
+                continue;
+            }
+
+            hitChances[pc] = probability(EffectManager.hitChance(program.hitRate(pc), program.statusTarget(pc), user.getStatManager(),
+                    monsterStatus.getStatManager()));
+            if (opcode == ActionProgram.DAMAGE && program.statusTarget(pc) == TargetMonster.TARGET
+                    && monsterStatus.getProtectionTarget() != ProtectTarget.HEALTH) {
+                hitDamages[pc] = damageOnHit(action, ((DamageEffect) program.statusEffect(pc)).strength(), user, cap);
+                damages[pc] = new double[cap + 1];
+                damages[pc][0] = 1 - hitChances[pc];
+                for (int damage = 0; damage <= cap; damage++) {
+                    damages[pc][damage] += hitChances[pc] * hitDamages[pc][damage];
+                }
+            }
+        }
+
+        // Every combination of repeat counts is equally likely within its slot
+        int[] minimums = new int[program.repeats()];
+        int[] maximums = new int[program.repeats()];
+        double weight = 1;
+        for (int slot = 0; slot < program.repeats(); slot++) {
+            Count count = program.repeatCount(slot);
+            minimums[slot] = count instanceof RandomCount random ? random.min() : ((FixedCount) count).value();
+            maximums[slot] = count instanceof RandomCount random ? random.max() : ((FixedCount) count).value();
+            weight /= maximums[slot] - minimums[slot] + 1;
+        }
+
+        double[] histogram = new double[cap + 1];
+        int[] counts = minimums.clone();
+        do {
+            addSequence(program, counts, hitChances, hitDamages, damages, weight, histogram);
+        } while (nextCounts(counts, minimums, maximums));
+
+        return new DamageDistribution(histogram);
+    }
+
+    private static void addSequence(ActionProgram program, int[] counts, double[] hitChances, double[][] hitDamages, double[][] damages,
+            double weight, double[] histogram) {
+        double[] accumulated = new double[histogram.length];
+        accumulated[0] = 1;
+        double firstHitChance = 1;
+        boolean isFirstEffect = true;
+        int remaining = 0;
+        int pc = 0;
+
+        // Same control flow as MonsterStatus, but with a distribution instead of a single outcome
+        while (pc < program.length()) {
+            byte opcode = program.opcode(pc);
+            if (opcode == ActionProgram.REPEAT) {
+                remaining = counts[program.repeatSlot(pc)];
+                pc = remaining > 0 ? pc + 1 : program.jump(pc) + 1;
+                continue;
+            }
+            if (opcode == ActionProgram.END_REPEAT) {
+                remaining--;
+                pc = remaining > 0 ? program.jump(pc) : pc + 1;
+                continue;
+            }
+
+            if (isFirstEffect) {
+                // A missing first effect cancels the action, so everything else is conditioned on its hit
+                firstHitChance = hitChances[pc];
+                if (hitDamages[pc] != null) {
+                    accumulated = hitDamages[pc].clone();
+                }
+                isFirstEffect = false;
+            } else if (damages[pc] != null) {
+                accumulated = convolve(accumulated, damages[pc]);
+            }
+            pc++;
+        }
+
+        histogram[0] += weight * (1 - firstHitChance);
+        for (int damage = 0; damage < histogram.length; damage++) {
+            histogram[damage] += weight * firstHitChance * accumulated[damage];
+        }
+    }
+
+    private static boolean nextCounts(int[] counts, int[] minimums, int[] maximums) {
+        for (int slot = counts.length - 1; slot >= 0; slot--) {
+            if (counts[slot] < maximums[slot]) {
+                counts[slot]++;
+                return true;
+            }
+            counts[slot] = minimums[slot];
+        }
+        return false;
+    }
+
+    private static double[] convolve(double[] first, double[] second) {
+        int cap = first.length - 1;
+        double[] result = new double[first.length];
+        for (int i = 0; i <= cap; i++) {
+            if (first[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j <= cap; j++) {
+                if (second[j] != 0) {
+                    result[Math.min(cap, i + j)] += first[i] * second[j];
+                }
+            }
+        }
+        return result;
+    }
+
+    private double[] damageOnHit(Action action, Strength strength, MonsterStatus user, int cap) {
+        double[] histogram = new double[cap + 1];
+
+        if (strength instanceof BaseStrength baseStrength) {
+            Element actionElement = action.element();
+            double elementsFactor = actionElement.getEffectiveness(monsterStatus.getMonster().element()).getMultiplier();
+            double statFactor = user.getStatManager().getEffectiveStat(Stat.ATK)
+                    / monsterStatus.getStatManager().getEffectiveStat(Stat.DEF);
+            double sameElementFactor = (actionElement == user.getMonster().element()) ? 1.5 : 1.0;
+            double scale = baseStrength.value() * elementsFactor * statFactor * sameElementFactor / 3.0;
+
+            double critChance = probability(criticalHitChance(user));
+            addVariance(scale, 1 - critChance, histogram);
+            addVariance(scale * 2.0, critChance, histogram);
+        } else {
+            int damage = calculateDamage(action, strength, user, false, true);
+            histogram[Math.max(0, Math.min(cap, damage))] = 1;
+        }
+
+        return histogram;
+    }
+
+    private static void addVariance(double scale, double weight, double[] histogram) {
+        int cap = histogram.length - 1;
+        double low = scale * MIN_VARIANCE;
+        double high = scale * MAX_VARIANCE;
+        if (weight == 0) {
+            return;
+        }
+        if (high <= 0) {
+            histogram[0] += weight;
+            return;
+        }
+
+        // The damage is ceil(v) for v uniform in [low, high), so bucket k receives the share of (k - 1, k]
+        for (int damage = (int) Math.ceil(low); damage <= cap && damage - 1 < high; damage++) {
+            double upper = damage == cap ? high : Math.min(damage, high);
+            double overlap = upper - Math.max(damage - 1, low);
+            if (overlap > 0) {
+                histogram[damage] += weight * overlap / (high - low);
+            }
+        }
+        if (Math.ceil(low) > cap) {
+            histogram[cap] += weight;
+        }
+    }
+
+    private double criticalHitChance(MonsterStatus user) {
+        double spdUser = user.getStatManager().getEffectiveStat(Stat.SPD);
+        double spdTarget = monsterStatus.getStatManager().getEffectiveStat(Stat.SPD);
+
+        return Math.pow(10, -spdTarget / spdUser) * 100;
+    }
+
+    private static double probability(double percent) {
+        return Math.max(0, Math.min(1, percent / 100));
+    }
+
 }
@@ -0,0 +1,115 @@
+package edu.kit.kastel.game.model.status;
+
+/**
+ * Probability distribution of the damage an action deals, as calculated by
+ * {@link DamageCalculator#damageDistribution(edu.kit.kastel.game.model.Action, MonsterStatus)}. Only the range between the lowest and the
+ * highest possible damage is stored.
+ *
+ * @author uupyx
+ */
+public final class DamageDistribution {
+
+    private final int offset;
+    private final double[] probabilities;
+    private final double mean;
+
+    /**
+     * Creates a distribution from a full histogram.
+     *
+     * @param histogram The probability of every damage value, starting at zero damage.
+     */
+    DamageDistribution(double[] histogram) {
+        int first = 0;
+        int last = histogram.length - 1;
+        while (first < last && histogram[first] <= 0) {
+            first++;
+        }
+        while (last > first && histogram[last] <= 0) {
+            last--;
+        }
+
+        this.offset = first;
+        this.probabilities = new double[last - first + 1];
+        System.arraycopy(histogram, first, probabilities, 0, probabilities.length);
+
+        double sum = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            sum += (offset + i) * probabilities[i];
+        }
+        this.mean = sum;
+    }
+
+    /**
+     * Gets the lowest possible damage.
+     *
+     * @return The minimum damage.
+     */
+    public int min() {
+        return offset;
+    }
+
+    /**
+     * Gets the highest possible damage.
+     *
+     * @return The maximum damage.
+     */
+    public int max() {
+        return offset + probabilities.length - 1;
+    }
+
+    /**
+     * Gets the probability of dealing exactly the given damage.
+     *
+     * @param damage The damage.
+     * @return The probability between 0 and 1.
+     */
+    public double probability(int damage) {
+        return damage < min() || damage > max() ? 0 : probabilities[damage - offset];
+    }
+
+    /**
+     * Gets the probability of dealing at least the given damage. With the remaining health of the target this is the chance that it
+     * faints.
+     *
+     * @param damage The damage.
+     * @return The probability between 0 and 1.
+     */
+    public double probabilityAtLeast(int damage) {
+        double sum = 0;
+        for (int i = Math.max(0, damage - offset); i < probabilities.length; i++) {
+            sum += probabilities[i];
+        }
+        return Math.min(1, sum);
+    }
+
+    /**
+     * Gets the expected damage.
+     *
+     * @return The mean damage.
+     */
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Gets the smallest damage that is not exceeded with at least the given probability.
+     *
+     * @param probability The probability between 0 and 1, e.g. 0.5 for the median.
+     * @return The quantile.
+     * @throws IllegalArgumentException If the probability is out of range.
+     */
+    public int quantile(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1, got " + probability);
+        }
+
+        double cumulative = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            cumulative += probabilities[i];
+            if (cumulative >= probability) {
+                return offset + i;
+            }
+        }
+        return max();
+    }
+}
@@ -11,6 +11,7 @@ import edu.kit.kastel.game.model.effect.Effect;
 import edu.kit.kastel.game.model.effect.HittableEffect;
 import edu.kit.kastel.game.model.effect.RepeatEffect;
 import edu.kit.kastel.game.model.effect.StatusEffect;
+import edu.kit.kastel.game.model.program.ActionProgram;
 
 /**
  * Manages the effects of actions during a battle. Handles building effect queues and determining the likelihood of effects hitting.
@@ -55,6 +56,22 @@ public class EffectManager {
         return queue;
     }
 
+    /**
+     * Resolves the counts of all repeat blocks of a compiled action, in program order, the same way {@link #buildEffectQueue(Action)}
+     * does.
+     *
+     * @param program The compiled action.
+     * @param counts An array to reuse for the counts.
+     * @return The given array, or a larger one if it was too small, holding the count of each repeat slot.
+     */
+    public int[] resolveRepeatCounts(ActionProgram program, int[] counts) {
+        int[] result = counts.length >= program.repeats() ? counts : new int[program.repeats()];
+        for (int slot = 0; slot < program.repeats(); slot++) {
+            result[slot] = program.repeatCount(slot).get(decisionMaker, "repeat count");
+        }
+        return result;
+    }
+
     /**
      * Determines whether a hittable effect will hit based on hit rate, status effects, and stats.
      *
@@ -64,21 +81,45 @@ public class EffectManager {
      * @return true if the effect will hit, false otherwise.
      */
     public boolean willEffectHit(HittableEffect effect, StatManager user, StatManager target) {
-        double baseHitRate = effect.getHitRate();
+        TargetMonster statusTarget = effect instanceof StatusEffect statusEffect ? statusEffect.getTarget() : null;
+        return willEffectHit(effect.getHitRate(), statusTarget, user, target);
+    }
+
+    /**
+     * Determines whether an effect with pre-resolved properties will hit.
+     *
+     * @param hitRate The hit rate of the effect.
+     * @param statusTarget The target of a status effect, or null if the effect is no status effect.
+     * @param user The stat manager of the user performing the action.
+     * @param target The stat manager of the target being affected.
+     * @return true if the effect will hit, false otherwise.
+     */
+    public boolean willEffectHit(int hitRate, TargetMonster statusTarget, StatManager user, StatManager target) {
+        return decisionMaker.decideYesNo(hitChance(hitRate, statusTarget, user, target), "effect hit");
+    }
+
+    /**
+     * Calculates the chance of an effect to hit, which is the probability handed to the decision maker by
+     * {@link #willEffectHit(int, TargetMonster, StatManager, StatManager)}.
+     *
+     * @param hitRate The hit rate of the effect.
+     * @param statusTarget The target of a status effect, or null if the effect is no status effect.
+     * @param user The stat manager of the user performing the action.
+     * @param target The stat manager of the target being affected.
+     * @return The hit chance in percent, which may lie outside of 0 to 100.
+     */
+    public static double hitChance(int hitRate, TargetMonster statusTarget, StatManager user, StatManager target) {
+        double baseHitRate = hitRate;
         double statusQuotient = 1.0;
 
         final double userPRC = user.getEffectiveStat(Stat.PRC);
 
-        if (effect instanceof StatusEffect statusEffect) {
-            if (statusEffect.getTarget() == TargetMonster.TARGET) {
-                statusQuotient = userPRC / target.getEffectiveStat(Stat.AGL);
-            } else {
-                statusQuotient = userPRC;
-            }
+        if (statusTarget == TargetMonster.TARGET) {
+            statusQuotient = userPRC / target.getEffectiveStat(Stat.AGL);
+        } else if (statusTarget == TargetMonster.USER) {
+            statusQuotient = userPRC;
         }
 
-        double finalProbability = baseHitRate * statusQuotient;
-
-        return decisionMaker.decideYesNo(finalProbability, "effect hit");
+        return baseHitRate * statusQuotient;
     }
 }
@@ -1,21 +1,19 @@
 package edu.kit.kastel.game.model.status;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
-
 import edu.kit.kastel.game.console.Console;
 import edu.kit.kastel.game.console.Message;
+import edu.kit.kastel.game.console.Terminal;
 import edu.kit.kastel.game.decision.DecisionMaker;
+import edu.kit.kastel.game.metrics.ActionEvent;
+import edu.kit.kastel.game.metrics.BattleMetrics;
 import edu.kit.kastel.game.model.Action;
 import edu.kit.kastel.game.model.Monster;
 import edu.kit.kastel.game.model.ProtectTarget;
 import edu.kit.kastel.game.model.StatusCondition;
 import edu.kit.kastel.game.model.TargetMonster;
-import edu.kit.kastel.game.model.effect.DamageEffect;
-import edu.kit.kastel.game.model.effect.Effect;
-import edu.kit.kastel.game.model.effect.HittableEffect;
+import edu.kit.kastel.game.model.effect.ContinueEffect;
 import edu.kit.kastel.game.model.effect.ProtectStatEffect;
-import edu.kit.kastel.game.model.effect.StatusEffect;
+import edu.kit.kastel.game.model.program.ActionProgram;
 
 /**
  * Represents the status of a monster in battle, including health, stats, effects, and status conditions. Handles applying actions and
@@ -27,34 +25,58 @@ public final class MonsterStatus {
 
     private final Monster monster;
     private final DecisionMaker decisionMaker;
+    private final Terminal terminal;
+    private final BattleMetrics metrics;
 
     private final StatManager statManager;
     private final EffectManager effectManager;
     private final StatusConditionManager statusConditionManager;
     private final DamageCalculator damageCalculator;
 
-    private int health;
+    private final BattleState state;
+    private final int index;
 
-    private ProtectTarget protectionTarget;
-    private int protectionRoundsLeft;
+    // Resolved repeat counts of the current action, reused across turns
+    private int[] repeatCounts = new int[0];
 
     /**
-     * Constructs a MonsterStatus for a specific monster.
+     * Constructs a MonsterStatus for a specific monster, that keeps its state on its own and writes to the terminal of the current
+     * console.
      *
      * @param monster The monster this status belongs to.
      * @param decisionMaker The decision maker for random decisions.
      */
     public MonsterStatus(Monster monster, DecisionMaker decisionMaker) {
+        this(monster, decisionMaker, new BattleState(1), 0, Console.terminal(), null);
+    }
+
+    /**
+     * Constructs a MonsterStatus for a specific monster, whose state lives in a slot of a shared battle state. The slot is initialized
+     * with full health.
+     *
+     * @param monster The monster this status belongs to.
+     * @param decisionMaker The decision maker for random decisions.
+     * @param state The battle state of all combatants.
+     * @param index The slot of this monster in the battle state.
+     * @param terminal The terminal of the battle, that all messages about this monster are written to.
+     * @param metrics The metrics recording the applied effects, or null if they are not recorded.
+     */
+    public MonsterStatus(Monster monster, DecisionMaker decisionMaker, BattleState state, int index, Terminal terminal,
+            BattleMetrics metrics) {
         this.monster = monster;
 
         this.decisionMaker = decisionMaker;
+        this.terminal = terminal;
+        this.metrics = metrics;
+        this.state = state;
+        this.index = index;
 
         this.statManager = new StatManager(this);
         this.effectManager = new EffectManager(decisionMaker);
         this.statusConditionManager = new StatusConditionManager(this);
         this.damageCalculator = new DamageCalculator(this);
 
-        this.health = monster.maxHealth();
+        state.setHealth(index, monster.maxHealth());
     }
 
     /**
@@ -63,7 +85,7 @@ public final class MonsterStatus {
      * @return true if the monster is protected, false otherwise.
      */
     public boolean hasProtection() {
-        return protectionTarget != null;
+        return state.getProtectionTarget(index) != null;
     }
 
     /**
@@ -72,7 +94,7 @@ public final class MonsterStatus {
      * @return The protection target.
      */
     public ProtectTarget getProtectionTarget() {
-        return protectionTarget;
+        return state.getProtectionTarget(index);
     }
 
     /**
@@ -81,7 +103,7 @@ public final class MonsterStatus {
      * @return The number of protection rounds left.
      */
     public int getProtectionRoundsLeft() {
-        return protectionRoundsLeft;
+        return state.getProtectionRounds(index);
     }
 
     /**
@@ -91,19 +113,20 @@ public final class MonsterStatus {
      * @param rounds The number of rounds for the protection.
      */
     public void setProtection(ProtectTarget target, int rounds) {
-        this.protectionTarget = target;
-        this.protectionRoundsLeft = rounds;
+        state.setProtection(index, target, rounds);
     }
     
   /**
   * Decreases the remaining protection rounds and removes protection when the rounds reach zero.
   */
     public void decrementProtectionRounds() {
+        int protectionRoundsLeft = state.getProtectionRounds(index);
         if (protectionRoundsLeft > 0) {
             protectionRoundsLeft--;
+            state.setProtectionRounds(index, protectionRoundsLeft);
             if (protectionRoundsLeft == 0) {
-                Console.writeMessage(Message.MONSTER_PROTECTION_FADING, monster.name());
-                protectionTarget = null;
+                terminal.writeMessage(Message.MONSTER_PROTECTION_FADING, monster.name());
+                state.setProtection(index, null, 0);
             }
         }
     }
@@ -120,18 +143,19 @@ public final class MonsterStatus {
             return;
         }
 
-        if (hasProtection() && protectionTarget == ProtectTarget.HEALTH && !burn && target == TargetMonster.TARGET) {
-            Console.writeMessage(Message.MONSTER_IS_PROTECTED_NO_DAMAGE, monster.name());
+        if (getProtectionTarget() == ProtectTarget.HEALTH && !burn && target == TargetMonster.TARGET) {
+            terminal.writeMessage(Message.MONSTER_IS_PROTECTED_NO_DAMAGE, monster.name());
             return;
         }
 
-        health = Math.max(0, health - damage);
-        Console.writeMessage(burn ? Message.MONSTER_TAKES_DAMAGE_BURNING : Message.MONSTER_TAKES_DAMAGE, monster.name(),
+        int health = Math.max(0, state.getHealth(index) - damage);
+        state.setHealth(index, health);
+        terminal.writeMessage(burn ? Message.MONSTER_TAKES_DAMAGE_BURNING : Message.MONSTER_TAKES_DAMAGE, monster.name(),
                 Math.round(damage));
 
         if (health <= 0) {
             statusConditionManager.changeStatusCondition(StatusCondition.FAINTED);
-            Console.writeMessage(Message.MONSTER_FAINTS, monster.name());
+            terminal.writeMessage(Message.MONSTER_FAINTS, monster.name());
         }
     }
 
@@ -145,74 +169,131 @@ public final class MonsterStatus {
             return;
         }
 
-        health = Math.min(monster.maxHealth(), health + amount);
+        state.setHealth(index, Math.min(monster.maxHealth(), state.getHealth(index) + amount));
 
-        Console.writeMessage(Message.MONSTER_GAINS_HEALTH, monster.name(), amount);
+        terminal.writeMessage(Message.MONSTER_GAINS_HEALTH, monster.name(), amount);
     }
 
     /**
-     * Performs the action for the monster, applying effects to the target.
+     * Performs the action for the monster, applying effects to the target. Runs the compiled program of the action; repeat counts are
+     * resolved up front, before the status condition may end.
      *
      * @param action The action to perform.
      * @param target The target monster of the action.
      */
     public void performAction(Action action, MonsterStatus target) {
-        Queue<Effect> effectQueue = (action == null ? new ArrayDeque<>() : effectManager.buildEffectQueue(action));
+        ActionEvent event = new ActionEvent(monster.name(), action != null ? action.name() : null);
+        event.begin();
+        if (action != null) {
+            repeatCounts = effectManager.resolveRepeatCounts(action.program(), repeatCounts);
+        }
 
         statusConditionManager.tryToEnd();
-        
-        if (statusConditionManager.getStatusCondition().preventsAction()) {
-            effectQueue.clear(); // If asleep or something else, do nothing
-        }
+
+        // If asleep or something else, do nothing
+        boolean prevented = statusConditionManager.getStatusCondition().preventsAction();
 
         if (action != null) {
-            Console.writeMessage(Message.MONSTER_ACTION, monster.name(), action.name());
+            terminal.writeMessage(Message.MONSTER_ACTION, monster.name(), action.name());
         } else {
-            Console.writeMessage(Message.MONSTER_PASS, monster.name());
+            terminal.writeMessage(Message.MONSTER_PASS, monster.name());
+        }
+
+        int effects = 0;
+        if (action != null && !prevented) {
+            effects = execute(action, target);
         }
-        
+
+        statusConditionManager.getStatusCondition().applyEndOfTurnEffect(this);
+        if (event.shouldCommit()) {
+            int repeats = 0;
+            for (int slot = 0; action != null && slot < action.program().repeats(); slot++) {
+                repeats += repeatCounts[slot];
+            }
+            event.setWork(effects, repeats);
+            event.commit();
+        }
+    }
+
+    /**
+     * Executes the effects of an action.
+     *
+     * @param action The action.
+     * @param target The target of the action.
+     * @return The number of executed effects, counting every repetition.
+     */
+    private int execute(Action action, MonsterStatus target) {
+        ActionProgram program = action.program();
         boolean alreadyPerformed = false;
         boolean isFirstEffect = true;
-        while (!effectQueue.isEmpty()) {
-            Effect effect = effectQueue.poll();
-
-            if (effect instanceof HittableEffect hittable) {                
-                boolean hit = effectManager.willEffectHit(hittable, statManager, target.getStatManager());
-                if ((!hit && isFirstEffect)) {
-                    Console.writeMessage(Message.ACTION_FAILED);
-                    break;
-                }
-                if (!hit) {
-                    continue;
-                }
+        int effects = 0;
+        int remaining = 0;
+        int pc = 0;
+
+        while (pc < program.length()) {
+            byte opcode = program.opcode(pc);
+            if (opcode == ActionProgram.REPEAT) {
+                remaining = repeatCounts[program.repeatSlot(pc)];
+                pc = remaining > 0 ? pc + 1 : program.jump(pc) + 1;
+                continue;
+            }
+            if (opcode == ActionProgram.END_REPEAT) {
+                remaining--;
+                pc = remaining > 0 ? program.jump(pc) : pc + 1;
+                continue;
+            }
+
+            effects++;
+            boolean hit = effectManager.willEffectHit(program.hitRate(pc), program.statusTarget(pc), statManager, target.getStatManager());
+            if (!hit && isFirstEffect) {
+                terminal.writeMessage(Message.ACTION_FAILED);
+                return effects;
+            }
+            if (!hit) {
+                pc++;
+                continue;
+            }
 
-                if (effect instanceof ProtectStatEffect protectEffect && hit) {
+            switch (opcode) {
+                case ActionProgram.PROTECT -> {
+                    ProtectStatEffect protectEffect = program.protection(pc);
                     int rounds = protectEffect.count().get(decisionMaker, "protection duration") + 1;
                     setProtection(protectEffect.target(), rounds);
                     Message message = (protectEffect.target() == ProtectTarget.HEALTH) ? Message.MONSTER_PROTECTED_AGAINST_DAMAGE
                             : Message.MONSTER_PROTECTED_AGAINST_STATUS;
 
-                    Console.writeMessage(message, monster.name());
+                    terminal.writeMessage(message, monster.name());
+                    if (metrics != null) {
+                        metrics.effectApplied(ProtectStatEffect.class);
+                    }
                 }
-            }
-
-            if (effect instanceof StatusEffect statusEffect) {
-                if (statusEffect.getTarget() == TargetMonster.TARGET && target.isFainted()) {
-                    Console.writeMessage(Message.ACTION_FAILED);
-                    break;
+                case ActionProgram.STATUS, ActionProgram.DAMAGE -> {
+                    if (program.statusTarget(pc) == TargetMonster.TARGET && target.isFainted()) {
+                        terminal.writeMessage(Message.ACTION_FAILED);
+                        return effects;
+                    }
+
+                    program.statusEffect(pc).perform(action, this, target, alreadyPerformed);
+                    if (metrics != null) {
+                        metrics.effectApplied(program.statusEffect(pc).getClass());
+                    }
+
+                    if (opcode == ActionProgram.DAMAGE) {
+                        alreadyPerformed = true;
+                    }
                 }
-                
-                statusEffect.perform(action, this, target, alreadyPerformed);
-
-                if (effect instanceof DamageEffect) {
-                    alreadyPerformed = true;
+                default -> {
+                    // Continue effects only need to hit
+                    if (metrics != null) {
+                        metrics.effectApplied(ContinueEffect.class);
+                    }
                 }
             }
-            
+
             isFirstEffect = false;
+            pc++;
         }
-
-        statusConditionManager.getStatusCondition().applyEndOfTurnEffect(this);
+        return effects;
     }
 
     /**
@@ -242,6 +323,15 @@ public final class MonsterStatus {
         return decisionMaker;
     }
 
+    /**
+     * Gets the terminal of the battle, that all messages about this monster are written to.
+     *
+     * @return The terminal.
+     */
+    public Terminal getTerminal() {
+        return terminal;
+    }
+
     /**
      * Gets the status condition manager for this monster.
      *
@@ -275,6 +365,24 @@ public final class MonsterStatus {
      * @return The health.
      */
     public int getHealth() {
-        return health;
+        return state.getHealth(index);
+    }
+
+    /**
+     * Gets the battle state holding the mutable state of this monster.
+     *
+     * @return The battle state.
+     */
+    public BattleState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the slot of this monster in its battle state.
+     *
+     * @return The index into the battle state.
+     */
+    public int getIndex() {
+        return index;
     }
 }
@@ -1,12 +1,9 @@
 package edu.kit.kastel.game.model.status;
 
-import java.util.EnumMap;
-import java.util.Map;
-
-import edu.kit.kastel.game.console.Console;
 import edu.kit.kastel.game.console.Message;
 import edu.kit.kastel.game.model.ProtectTarget;
 import edu.kit.kastel.game.model.Stat;
+import edu.kit.kastel.game.model.StatusCondition;
 import edu.kit.kastel.game.model.TargetMonster;
 
 /**
@@ -17,8 +14,28 @@ import edu.kit.kastel.game.model.TargetMonster;
  */
 public final class StatManager {
 
+    private static final int MAX_STAGE = 5;
+    private static final Stat[] STATS = Stat.values();
+
+    // Stat factor per stat and stage (offset by MAX_STAGE), and status condition multiplier per condition and stat
+    private static final double[][] STAGE_FACTORS = new double[STATS.length][2 * MAX_STAGE + 1];
+    private static final double[][] CONDITION_MULTIPLIERS = new double[StatusCondition.values().length][STATS.length];
+
+    static {
+        for (Stat stat : STATS) {
+            for (int stage = -MAX_STAGE; stage <= MAX_STAGE; stage++) {
+                STAGE_FACTORS[stat.ordinal()][stage + MAX_STAGE] = stat.getStatFactor(stage);
+            }
+            for (StatusCondition condition : StatusCondition.values()) {
+                CONDITION_MULTIPLIERS[condition.ordinal()][stat.ordinal()] = condition.getMultiplier(stat);
+            }
+        }
+    }
+
     private final MonsterStatus monsterStatus;
-    private final Map<Stat, Integer> statChanges;
+    private final int[] baseStats;
+    private final double[] effectiveStats;
+    private int cachedVersion;
 
     /**
      * Constructs a StatManager for a specific monster.
@@ -27,8 +44,13 @@ public final class StatManager {
      */
     public StatManager(MonsterStatus monsterStatus) {
         this.monsterStatus = monsterStatus;
+        this.baseStats = new int[STATS.length];
+        this.effectiveStats = new double[STATS.length];
+        this.cachedVersion = -1;
 
-        statChanges = new EnumMap<>(Stat.class);
+        for (Stat stat : STATS) {
+            baseStats[stat.ordinal()] = stat.getBaseStat(monsterStatus.getMonster());
+        }
     }
 
     /**
@@ -38,7 +60,7 @@ public final class StatManager {
      * @return The current value of the stat.
      */
     public int getStat(Stat stat) {
-        return statChanges.getOrDefault(stat, 0);
+        return monsterStatus.getState().getStage(monsterStatus.getIndex(), stat);
     }
 
     /**
@@ -51,28 +73,39 @@ public final class StatManager {
     public void changeStat(Stat stat, int change, TargetMonster target) {
         if (monsterStatus.hasProtection() && monsterStatus.getProtectionTarget() == ProtectTarget.STATS && target == TargetMonster.TARGET
                 && change < 0) {
-            Console.writeMessage(Message.MONSTER_IS_PROTECTED_UNAFFECTED, monsterStatus.getMonster().name());
+            monsterStatus.getTerminal().writeMessage(Message.MONSTER_IS_PROTECTED_UNAFFECTED, monsterStatus.getMonster().name());
             return;
         }
 
-        statChanges.put(stat, Math.max(-5, Math.min(5, getStat(stat) + change)));
+        monsterStatus.getState().setStage(monsterStatus.getIndex(), stat,
+                Math.max(-MAX_STAGE, Math.min(MAX_STAGE, getStat(stat) + change)));
 
         if (change > 0) {
-            Console.writeMessage(Message.MONSTER_STAT_RISES, monsterStatus.getMonster().name(), stat.name());
+            monsterStatus.getTerminal().writeMessage(Message.MONSTER_STAT_RISES, monsterStatus.getMonster().name(), stat.name());
         } else if (change < 0) {
-            Console.writeMessage(Message.MONSTER_STAT_DECREASES, monsterStatus.getMonster().name(), stat.name());
+            monsterStatus.getTerminal().writeMessage(Message.MONSTER_STAT_DECREASES, monsterStatus.getMonster().name(), stat.name());
         }
     }
 
     /**
-     * Gets the effective value of a specific stat, taking into account base stats, stat changes, and status conditions.
+     * Gets the effective value of a specific stat, taking into account base stats, stat changes, and status conditions. The values of all
+     * stats are cached until a stat stage or the status condition changes.
      *
      * @param stat The stat to retrieve the effective value for.
      * @return The effective value of the stat.
      */
     public double getEffectiveStat(Stat stat) {
-        return stat.getBaseStat(monsterStatus.getMonster()) * stat.getStatFactor(getStat(stat))
-                * monsterStatus.getStatusConditionManager().getStatusCondition().getMultiplier(stat);
+        BattleState state = monsterStatus.getState();
+        int index = monsterStatus.getIndex();
+        int version = state.getVersion(index);
+        if (version != cachedVersion) {
+            double[] multipliers = CONDITION_MULTIPLIERS[state.getCondition(index).ordinal()];
+            for (int i = 0; i < STATS.length; i++) {
+                effectiveStats[i] = baseStats[i] * STAGE_FACTORS[i][state.getStage(index, STATS[i]) + MAX_STAGE] * multipliers[i];
+            }
+            cachedVersion = version;
+        }
+        return effectiveStats[stat.ordinal()];
     }
 
 }
@@ -12,8 +12,6 @@ public class StatusConditionManager {
 
     private final MonsterStatus monsterStatus;
 
-    private StatusCondition statusCondition;
-
     /**
      * Constructs a manager for a specific monster.
      *
@@ -21,9 +19,6 @@ public class StatusConditionManager {
      */
     public StatusConditionManager(MonsterStatus monsterStatus) {
         this.monsterStatus = monsterStatus;
-
-        statusCondition = StatusCondition.OK;
-
     }
 
     /**
@@ -32,11 +27,11 @@ public class StatusConditionManager {
      * @param statusCondition The new status condition to set.
      */
     public void changeStatusCondition(StatusCondition statusCondition) {
-        if (statusCondition != StatusCondition.FAINTED && this.statusCondition != StatusCondition.OK) {
+        if (statusCondition != StatusCondition.FAINTED && getStatusCondition() != StatusCondition.OK) {
             return;
         }
 
-        this.statusCondition = statusCondition;
+        monsterStatus.getState().setCondition(monsterStatus.getIndex(), statusCondition);
 
         statusCondition.onAdded(monsterStatus);
     }
@@ -46,13 +41,14 @@ public class StatusConditionManager {
      * effect.
      */
     public void tryToEnd() {
+        StatusCondition statusCondition = getStatusCondition();
         if (statusCondition != StatusCondition.OK && statusCondition != StatusCondition.FAINTED) {
             boolean statusEnds = monsterStatus.getDecisionMaker().decideYesNo(100d / 3d, "status condition end");
 
             if (statusEnds) {
                 statusCondition.onRemoved(monsterStatus);
 
-                statusCondition = StatusCondition.OK;
+                monsterStatus.getState().setCondition(monsterStatus.getIndex(), StatusCondition.OK);
             } else {
                 statusCondition.onTick(monsterStatus);
             }
@@ -65,7 +61,7 @@ public class StatusConditionManager {
      * @return The current status condition.
      */
     public StatusCondition getStatusCondition() {
-        return statusCondition;
+        return monsterStatus.getState().getCondition(monsterStatus.getIndex());
     }
 
 }